@@ -1,19 +1,22 @@
 package com.anas.gameLibrary;
 
+import com.anas.gameLibrary.common.SeedLoader;
+import com.anas.gameLibrary.common.SeedProperties;
 import com.anas.gameLibrary.game.Game;
 import com.anas.gameLibrary.game.GameRepository;
 import com.anas.gameLibrary.player.*;
 import com.anas.gameLibrary.playerGame.PlayerGame;
 import com.anas.gameLibrary.playerGame.PlayerGameRepository;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.time.Clock;
 import java.util.List;
 
 /**
@@ -21,8 +24,9 @@ import java.util.List;
  *
  * This class boots the application and contains a data-loading routine
  * that runs on startup. The routine seeds the database with initial
- * data from JSON files located in the resources folder, but only if
- * the relevant tables are empty.
+ * data from JSON files, by default located in the resources folder
+ * (see {@code game-library.seed.*}), but only if the relevant
+ * collections are empty. Gzipped seed files are read transparently.
  *
  * The seeding process works as follows:
  * - If there are no players, the file players.json is loaded.
@@ -36,6 +40,8 @@ import java.util.List;
  * Author: Anas Sadek
  */
 @SpringBootApplication
+@EnableScheduling
+@EnableConfigurationProperties(SeedProperties.class)
 public class GameLibraryApplication {
 
 	private static final Logger log = LoggerFactory.getLogger(GameLibraryApplication.class);
@@ -50,18 +56,27 @@ public class GameLibraryApplication {
 	}
 
 	/**
-	 * Loads initial data into the database on startup if the repositories
-	 * are empty. Data is read from JSON files on the classpath and saved
-	 * through the corresponding repositories.
+	 * Clock used by time-based components, replaceable in tests.
 	 *
-	 * The JSON files are deserialized with Jackson's ObjectMapper and mapped
-	 * into lists of entity objects.
+	 * @return the system clock in UTC
+	 */
+	@Bean
+	Clock clock() {
+		return Clock.systemUTC();
+	}
+
+	/**
+	 * Loads initial data into the database on startup for every collection that is
+	 * still empty. Seed files are streamed and written in unordered batches, and the
+	 * files are loaded concurrently, see {@link SeedLoader}. Players, games and
+	 * collections are written through their versioned bulk upserts, so seeded
+	 * documents carry a version like any other write.
 	 *
 	 * @param playerRepo repository for Player entities
 	 * @param gameRepo repository for Game entities
 	 * @param collectionRepo repository for GameCollection entities
 	 * @param playerGameRepo repository for PlayerGame entities
-	 * @param objectMapper Jackson mapper used to parse JSON files
+	 * @param seedLoader loader that streams the seed files into the repositories
 	 * @return a CommandLineRunner that performs the seeding logic
 	 */
 	@Bean
@@ -70,54 +85,20 @@ public class GameLibraryApplication {
 			GameRepository gameRepo,
 			GameCollectionRepository collectionRepo,
 			PlayerGameRepository playerGameRepo,
-			ObjectMapper objectMapper) {
+			SeedLoader seedLoader) {
 		return args -> {
+			long started = System.nanoTime();
 
-			if (playerRepo.count() == 0) {
-				log.info("No players found, loading players...");
-				var players = objectMapper.readValue(
-						getClass().getResourceAsStream("/players.json"),
-						new TypeReference<List<Player>>() {});
-				playerRepo.saveAll(players);
-				log.info("Loaded {} players", players.size());
-			} else {
-				log.info("Players already exist, skipping players.json");
-			}
-
-			if (gameRepo.count() == 0) {
-				log.info("No games found, loading games...");
-				var games = objectMapper.readValue(
-						getClass().getResourceAsStream("/games.json"),
-						new TypeReference<List<Game>>() {});
-				gameRepo.saveAll(games);
-				log.info("Loaded {} games", games.size());
-			} else {
-				log.info("Games already exist, skipping games.json");
-			}
-
-			if (collectionRepo.count() == 0) {
-				log.info("No game collections found, loading gameCollections...");
-				var collections = objectMapper.readValue(
-						getClass().getResourceAsStream("/collections.json"),
-						new TypeReference<List<GameCollection>>() {});
-				collectionRepo.saveAll(collections);
-				log.info("Loaded {} game collections", collections.size());
-			} else {
-				log.info("Game collections already exist, skipping gameCollections.json");
-			}
-
-			if (playerGameRepo.count() == 0) {
-				log.info("No player-game entries found, loading playerGames...");
-				var playerGames = objectMapper.readValue(
-						getClass().getResourceAsStream("/playersGames.json"),
-						new TypeReference<List<PlayerGame>>() {});
-				playerGameRepo.saveAll(playerGames);
-				log.info("Loaded {} player-game entries", playerGames.size());
-			} else {
-				log.info("Player-game entries already exist, skipping playerGames.json");
-			}
+			List<SeedLoader.SeedReport> reports = seedLoader.loadAll(List.of(
+					new SeedLoader.Seed<>("players.json", Player.class, playerRepo::upsertAll),
+					new SeedLoader.Seed<>("games.json", Game.class, gameRepo::upsertAll),
+					new SeedLoader.Seed<>("collections.json", GameCollection.class, collectionRepo::upsertAll),
+					new SeedLoader.Seed<>("playersGames.json", PlayerGame.class, playerGameRepo::insertAll)));
 
-			log.info("Data loading completed.");
+			long records = reports.stream().mapToLong(SeedLoader.SeedReport::records).sum();
+			long millis = (System.nanoTime() - started) / 1_000_000;
+			log.info("Data loading completed: {} records from {} files in {} ms ({} records/s)",
+					records, reports.size(), millis, records * 1000 / Math.max(1, millis));
 		};
 	}
 
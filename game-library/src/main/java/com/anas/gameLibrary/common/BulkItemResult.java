@@ -0,0 +1,28 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * Result of a single item in a bulk write request.
+ *
+ * @param index the position of the item in the request body
+ * @param id the ID of the document the item refers to, if known
+ * @param status the outcome for this item
+ * @param message details about a rejected or failed item, null on success
+ */
+public record BulkItemResult(
+        int index,
+        String id,
+        BulkItemStatus status,
+        String message
+) {
+
+    /**
+     * Returns a copy of this result moved to another position,
+     * used when a sub-list is written and its results are mapped back onto the request.
+     *
+     * @param newIndex the position of the item in the request body
+     * @return the same result at the given index
+     */
+    public BulkItemResult withIndex(int newIndex) {
+        return new BulkItemResult(newIndex, id, status, message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * Outcome of a single item in a bulk write request.
+ */
+public enum BulkItemStatus {
+    CREATED,
+    UPDATED,
+    DUPLICATE,
+    NOT_FOUND,
+    CONFLICT,
+    INVALID,
+    FAILED;
+
+    /**
+     * Whether the item was written to the database.
+     *
+     * @return true for {@link #CREATED} and {@link #UPDATED}
+     */
+    public boolean isSuccess() {
+        return this == CREATED || this == UPDATED;
+    }
+}
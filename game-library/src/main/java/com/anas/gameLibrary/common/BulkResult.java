@@ -0,0 +1,28 @@
+package com.anas.gameLibrary.common;
+
+import java.util.List;
+
+/**
+ * Summary and per-item results of a bulk write request.
+ *
+ * @param succeeded the number of items written to the database
+ * @param failed the number of items rejected or failed
+ * @param items one result per request item, in request order
+ */
+public record BulkResult(
+        int succeeded,
+        int failed,
+        List<BulkItemResult> items
+) {
+
+    /**
+     * Builds a summary from per-item results.
+     *
+     * @param items one result per request item, in request order
+     * @return the bulk result
+     */
+    public static BulkResult of(List<BulkItemResult> items) {
+        int succeeded = (int) items.stream().filter(item -> item.status().isSuccess()).count();
+        return new BulkResult(succeeded, items.size() - succeeded, items);
+    }
+}
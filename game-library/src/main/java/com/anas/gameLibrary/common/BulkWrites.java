@@ -0,0 +1,265 @@
+package com.anas.gameLibrary.common;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import jakarta.validation.ConstraintViolation;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Helpers for bulk write endpoints.
+ * Items are checked one by one, and the ones that pass are written with unordered
+ * {@link BulkOperations} in fixed-size chunks, so a bad item never blocks the rest
+ * of the batch and each chunk costs a single round trip.
+ */
+public final class BulkWrites {
+
+    /** Largest number of items accepted in one bulk request. */
+    public static final int MAX_BATCH_SIZE = 50_000;
+
+    /** Number of operations sent to MongoDB per bulk write. */
+    public static final int CHUNK_SIZE = 1_000;
+
+    /** Field in which {@link #compareAndSet} stamps the ID of the chunk that last changed a document. */
+    public static final String WRITE_ID_FIELD = "lastWriteId";
+
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+
+    private BulkWrites() {
+    }
+
+    /**
+     * Runs a bulk request: checks every item, writes the accepted ones in one go,
+     * and merges both outcomes into per-item results in request order.
+     *
+     * @param items the request items
+     * @param idOf extracts the document ID reported for an item
+     * @param check returns a rejection message for an item, or null to accept it
+     * @param writer writes the accepted items and returns one result per written item, in order
+     * @param <T> the type of the request items
+     * @return the bulk result
+     * @throws IllegalArgumentException if the batch exceeds {@link #MAX_BATCH_SIZE}
+     */
+    public static <T> BulkResult process(List<T> items,
+                                         Function<T, String> idOf,
+                                         Function<T, String> check,
+                                         Function<List<T>, List<BulkItemResult>> writer) {
+        checkSize(items);
+
+        BulkItemResult[] results = new BulkItemResult[items.size()];
+        List<T> accepted = new ArrayList<>(items.size());
+        List<Integer> positions = new ArrayList<>(items.size());
+
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            String rejection = item == null ? "item must not be null" : check.apply(item);
+            if (rejection == null) {
+                accepted.add(item);
+                positions.add(i);
+            } else {
+                String id = item == null ? null : idOf.apply(item);
+                results[i] = new BulkItemResult(i, id, BulkItemStatus.INVALID, rejection);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<BulkItemResult> written = writer.apply(accepted);
+            for (int j = 0; j < written.size(); j++) {
+                results[positions.get(j)] = written.get(j).withIndex(positions.get(j));
+            }
+        }
+        return BulkResult.of(Arrays.asList(results));
+    }
+
+    /**
+     * Rejects bulk requests larger than {@link #MAX_BATCH_SIZE}.
+     *
+     * @param items the request items
+     * @throws IllegalArgumentException if the batch is too large
+     */
+    public static void checkSize(List<?> items) {
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Bulk request exceeds " + MAX_BATCH_SIZE + " items");
+        }
+    }
+
+    /**
+     * Formats bean validation violations the same way as the single-item endpoints.
+     *
+     * @param violations the violations reported by the validator
+     * @param <T> the validated type
+     * @return "field: message" pairs joined by commas, or null if there are none
+     */
+    public static <T> String describe(Set<ConstraintViolation<T>> violations) {
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Inserts documents with unordered bulk writes.
+     * Documents whose ID already exists are reported as {@link BulkItemStatus#DUPLICATE}.
+     *
+     * @param mongoTemplate the template to write with
+     * @param type the document type
+     * @param documents the documents to insert
+     * @param idOf extracts the document ID
+     * @param <T> the document type
+     * @return one result per document, in order
+     */
+    public static <T> List<BulkItemResult> insert(MongoTemplate mongoTemplate, Class<T> type,
+                                                  List<T> documents, Function<T, String> idOf) {
+        return write(mongoTemplate, type, documents, idOf, Mode.INSERT, null, null);
+    }
+
+    /**
+     * Updates documents by ID with unordered bulk writes, inserting the ones that do not exist yet.
+     * Writing through an update rather than a replacement lets the server maintain
+     * fields such as the {@link Versioned} counters.
+     *
+     * @param mongoTemplate the template to write with
+     * @param type the document type
+     * @param documents the documents to upsert
+     * @param idOf extracts the document ID
+     * @param updateOf builds the update that sets a document's fields
+     * @param <T> the document type
+     * @return one result per document, in order
+     */
+    public static <T> List<BulkItemResult> upsert(MongoTemplate mongoTemplate, Class<T> type,
+                                                  List<T> documents, Function<T, String> idOf,
+                                                  Function<T, Update> updateOf) {
+        return write(mongoTemplate, type, documents, idOf, Mode.UPSERT, byId(idOf), updateOf);
+    }
+
+    /**
+     * Applies updates to documents with unordered bulk writes, each only if its document still
+     * matches a condition, typically the value of a field read beforehand. Nothing is ever inserted.
+     * Each update is a plain {@code updateOne} whose filter is the document ID plus the condition,
+     * and also stamps the document with an ID of the chunk it was written in, in the
+     * {@value #WRITE_ID_FIELD} field. When the server matches every item of a chunk, all are
+     * reported as {@link BulkItemStatus#UPDATED}. Otherwise the chunk's documents are read back in
+     * one query: an item whose document carries the chunk's stamp was applied, one whose document
+     * exists without it is reported as {@link BulkItemStatus#CONFLICT}, and one whose document is
+     * gone as {@link BulkItemStatus#NOT_FOUND}. The stamp tells an applied item apart from one a
+     * concurrent writer changed to the same value, which the document's fields alone cannot.
+     *
+     * @param mongoTemplate the template to write with
+     * @param type the document type
+     * @param items the items to apply
+     * @param idOf extracts the ID of the document an item updates
+     * @param conditionOf builds the condition, besides the ID, the document must match
+     * @param updateOf builds the update for an item
+     * @param <T> the item type
+     * @return one result per item, in order
+     */
+    public static <T> List<BulkItemResult> compareAndSet(MongoTemplate mongoTemplate, Class<?> type,
+                                                         List<T> items, Function<T, String> idOf,
+                                                         Function<T, Criteria> conditionOf,
+                                                         Function<T, Update> updateOf) {
+        return write(mongoTemplate, type, items, idOf, Mode.COMPARE_AND_SET,
+                item -> byId(idOf).apply(item).addCriteria(conditionOf.apply(item)),
+                updateOf);
+    }
+
+    private enum Mode { INSERT, UPSERT, COMPARE_AND_SET }
+
+    private static <T> Function<T, Query> byId(Function<T, String> idOf) {
+        return item -> query(where("_id").is(idOf.apply(item)));
+    }
+
+    private static <T> List<BulkItemResult> write(MongoTemplate mongoTemplate, Class<?> type,
+                                                  List<T> documents, Function<T, String> idOf,
+                                                  Mode mode, Function<T, Query> filterOf,
+                                                  Function<T, Update> updateOf) {
+        List<BulkItemResult> results = new ArrayList<>(documents.size());
+
+        for (int from = 0; from < documents.size(); from += CHUNK_SIZE) {
+            List<T> chunk = documents.subList(from, Math.min(from + CHUNK_SIZE, documents.size()));
+            String writeId = mode == Mode.COMPARE_AND_SET ? UUID.randomUUID().toString() : null;
+            BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, type);
+            for (T document : chunk) {
+                switch (mode) {
+                    case INSERT -> ops.insert(document);
+                    case UPSERT -> ops.upsert(filterOf.apply(document), updateOf.apply(document));
+                    case COMPARE_AND_SET -> ops.updateOne(filterOf.apply(document),
+                            updateOf.apply(document).set(WRITE_ID_FIELD, writeId));
+                }
+            }
+
+            BulkWriteResult outcome;
+            Map<Integer, BulkWriteError> errors = new HashMap<>();
+            try {
+                outcome = ops.execute();
+            } catch (BulkOperationException e) {
+                outcome = e.getResult();
+                e.getErrors().forEach(error -> errors.put(error.getIndex(), error));
+            }
+            Set<Integer> upserted = outcome.getUpserts().stream()
+                    .map(BulkWriteUpsert::getIndex)
+                    .collect(Collectors.toSet());
+            Map<String, String> writtenBy = mode == Mode.COMPARE_AND_SET
+                    && outcome.getMatchedCount() < chunk.size() - errors.size()
+                    ? lastWriteIds(mongoTemplate, type, chunk, idOf)
+                    : null;
+
+            for (int i = 0; i < chunk.size(); i++) {
+                String id = idOf.apply(chunk.get(i));
+                BulkWriteError error = errors.get(i);
+                if (error != null) {
+                    BulkItemStatus status = error.getCode() == DUPLICATE_KEY_ERROR
+                            ? BulkItemStatus.DUPLICATE
+                            : BulkItemStatus.FAILED;
+                    results.add(new BulkItemResult(from + i, id, status, error.getMessage()));
+                } else if (writtenBy != null && !writtenBy.containsKey(id)) {
+                    results.add(new BulkItemResult(from + i, id, BulkItemStatus.NOT_FOUND, null));
+                } else if (writtenBy != null && !writeId.equals(writtenBy.get(id))) {
+                    results.add(new BulkItemResult(from + i, id, BulkItemStatus.CONFLICT, "Document was changed concurrently"));
+                } else if (mode == Mode.INSERT || upserted.contains(i)) {
+                    results.add(new BulkItemResult(from + i, id, BulkItemStatus.CREATED, null));
+                } else {
+                    results.add(new BulkItemResult(from + i, id, BulkItemStatus.UPDATED, null));
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads the {@value #WRITE_ID_FIELD} stamp of each document of a chunk that still exists,
+     * keyed by document ID, with an empty string for documents that carry none.
+     */
+    private static <T> Map<String, String> lastWriteIds(MongoTemplate mongoTemplate, Class<?> type,
+                                                        List<T> chunk, Function<T, String> idOf) {
+        Query lookup = query(where("_id").in(chunk.stream().map(idOf).toList()));
+        lookup.fields().include("_id").include(WRITE_ID_FIELD);
+        Map<String, String> writeIds = new HashMap<>();
+        for (Document document : mongoTemplate.find(lookup, Document.class, mongoTemplate.getCollectionName(type))) {
+            writeIds.put(document.getString("_id"), Objects.toString(document.getString(WRITE_ID_FIELD), ""));
+        }
+        return writeIds;
+    }
+}
@@ -0,0 +1,78 @@
+package com.anas.gameLibrary.common;
+
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.game.GameFacets;
+import com.anas.gameLibrary.player.Player;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Declares the in-process document caches and ID membership filters used by the services.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    private static final long FACET_CACHE_SIZE = 1_000;
+
+    /**
+     * Cache of games by ID, used by {@link com.anas.gameLibrary.game.GameService}.
+     *
+     * @param properties the cache settings
+     * @return the game cache
+     */
+    @Bean
+    public EntityCache<Game> gameCache(CacheProperties properties) {
+        return new EntityCache<>("games", properties.maximumSize(), properties.ttl(), properties.negativeTtl());
+    }
+
+    /**
+     * Cache of catalog facet counts by filter, used by {@link com.anas.gameLibrary.game.GameFacetService}.
+     * Entries are short-lived instead of being invalidated, since any game write can change any count.
+     *
+     * @param properties the cache settings
+     * @return the facet cache
+     */
+    @Bean
+    public EntityCache<GameFacets> gameFacetCache(CacheProperties properties) {
+        return new EntityCache<>("gameFacets", FACET_CACHE_SIZE, properties.facetTtl(), properties.facetTtl());
+    }
+
+    /**
+     * Cache of players by ID, used by {@link com.anas.gameLibrary.player.PlayerService}.
+     *
+     * @param properties the cache settings
+     * @return the player cache
+     */
+    @Bean
+    public EntityCache<Player> playerCache(CacheProperties properties) {
+        return new EntityCache<>("players", properties.maximumSize(), properties.ttl(), properties.negativeTtl());
+    }
+
+    /**
+     * Membership filter of game IDs, used by {@link com.anas.gameLibrary.game.GameService}
+     * to reject references to unknown games without a database round trip.
+     *
+     * @param properties the cache settings
+     * @return the game ID filter
+     */
+    @Bean
+    public IdMembershipFilter gameIdFilter(CacheProperties properties) {
+        return new IdMembershipFilter("games", properties.filterExpectedIds(), properties.filterFalsePositiveRate(),
+                properties.filterMaxStaleness());
+    }
+
+    /**
+     * Membership filter of player IDs, used by {@link com.anas.gameLibrary.player.PlayerService}
+     * to reject references to unknown players without a database round trip.
+     *
+     * @param properties the cache settings
+     * @return the player ID filter
+     */
+    @Bean
+    public IdMembershipFilter playerIdFilter(CacheProperties properties) {
+        return new IdMembershipFilter("players", properties.filterExpectedIds(), properties.filterFalsePositiveRate(),
+                properties.filterMaxStaleness());
+    }
+}
@@ -0,0 +1,41 @@
+package com.anas.gameLibrary.common;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing statistics of the in-process document caches.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@Tag(name = "Cache", description = "Endpoints for inspecting the document caches")
+public class CacheController {
+
+    private final List<EntityCache<?>> caches;
+
+    /**
+     * Constructs a CacheController over all registered caches.
+     *
+     * @param caches every {@link EntityCache} bean in the application
+     */
+    public CacheController(List<EntityCache<?>> caches) {
+        this.caches = caches;
+    }
+
+    /**
+     * Retrieves hit, miss and eviction statistics of every cache.
+     *
+     * @return one statistics entry per cache
+     */
+    @GetMapping("/stats")
+    @Operation(summary = "Get cache statistics", description = "Returns hit, miss and eviction counters for each document cache")
+    public ResponseEntity<List<CacheStatistics>> getStats() {
+        return ResponseEntity.ok(caches.stream().map(EntityCache::stats).toList());
+    }
+}
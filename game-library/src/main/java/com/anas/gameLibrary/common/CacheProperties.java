@@ -0,0 +1,30 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings for the by-ID document caches, bound from {@code game-library.cache.*}.
+ *
+ * @param maximumSize the maximum number of entries per cache
+ * @param ttl how long a cached document stays valid
+ * @param negativeTtl how long a cached "not found" stays valid
+ * @param facetTtl how long cached catalog facet counts stay valid
+ * @param filterExpectedIds the number of IDs each membership filter is sized for, at least
+ * @param filterFalsePositiveRate the target false positive rate of the membership filters
+ * @param filterRebuildInterval how often the membership filters are rebuilt, picking up IDs written by other instances
+ * @param filterMaxStaleness how long after a rebuild a membership filter's negative answers are trusted
+ */
+@ConfigurationProperties(prefix = "game-library.cache")
+public record CacheProperties(
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("30s") Duration negativeTtl,
+        @DefaultValue("30s") Duration facetTtl,
+        @DefaultValue("1000000") long filterExpectedIds,
+        @DefaultValue("0.01") double filterFalsePositiveRate,
+        @DefaultValue("1m") Duration filterRebuildInterval,
+        @DefaultValue("2m") Duration filterMaxStaleness
+) {}
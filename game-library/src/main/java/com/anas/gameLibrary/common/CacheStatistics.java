@@ -0,0 +1,20 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * Point-in-time statistics of an {@link EntityCache}.
+ *
+ * @param name the cache name
+ * @param size the approximate number of entries
+ * @param hits the number of lookups served from the cache
+ * @param misses the number of lookups that went to the database
+ * @param hitRate hits divided by all lookups, 1.0 if there were none
+ * @param evictions the number of entries removed because of size or age
+ */
+public record CacheStatistics(
+        String name,
+        long size,
+        long hits,
+        long misses,
+        double hitRate,
+        long evictions
+) {}
@@ -0,0 +1,82 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Helpers for serving {@link Versioned} documents with conditional GET support.
+ * Responses carry a strong ETag derived from the document version plus a Last-Modified header.
+ * When a response built by {@link #ok(Versioned)} matches the request's If-None-Match or
+ * If-Modified-Since, Spring MVC answers 304 Not Modified and never serializes the body.
+ */
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * Builds a 200 response for a document, tagged with its ETag and Last-Modified.
+     *
+     * @param body the document
+     * @param <T> the document type
+     * @return the response, turned into a 304 by Spring MVC if the client copy is current
+     */
+    public static <T extends Versioned> ResponseEntity<T> ok(T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag(body));
+        if (body.lastModified() != null) {
+            builder.lastModified(body.lastModified());
+        }
+        return builder.body(body);
+    }
+
+    /**
+     * Builds a bodiless 304 response for a document version.
+     *
+     * @param stamp the version of the document
+     * @param <T> the response body type
+     * @return the 304 response
+     */
+    public static <T> ResponseEntity<T> notModified(Versioned stamp) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag(stamp));
+        if (stamp.lastModified() != null) {
+            builder.lastModified(stamp.lastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tells whether the request carries a validator that a version could satisfy,
+     * i.e. whether checking the version before loading the document can pay off.
+     *
+     * @param request the current request
+     * @return true if the request has If-None-Match or If-Modified-Since
+     */
+    public static boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    /**
+     * Checks the request's validators against a document version.
+     *
+     * @param request the current request
+     * @param stamp the current version of the document
+     * @return true if the client copy is current and a 304 should be sent
+     */
+    public static boolean isNotModified(WebRequest request, Versioned stamp) {
+        long lastModified = stamp.lastModified() == null ? -1 : stamp.lastModified().toEpochMilli();
+        return request.checkNotModified(etag(stamp), lastModified);
+    }
+
+    /**
+     * Derives the strong ETag of a document version.
+     *
+     * @param stamp the document version
+     * @return the quoted version number, {@code "0"} for documents never stamped
+     */
+    public static String etag(Versioned stamp) {
+        return "\"" + (stamp.version() == null ? 0 : stamp.version()) + "\"";
+    }
+}
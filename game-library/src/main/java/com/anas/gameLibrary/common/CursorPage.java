@@ -0,0 +1,110 @@
+package com.anas.gameLibrary.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A single page of a keyset-paginated listing.
+ * Pages are addressed by an opaque continuation token instead of an offset,
+ * so fetching page N costs the same as fetching the first page.
+ *
+ * @param items the items on this page, in sort order
+ * @param nextCursor the token for the next page, or null if this is the last page
+ * @param <T> the type of the listed items
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor
+) {
+
+    /** Page size used when the client does not ask for one, as a request parameter default. */
+    public static final String DEFAULT_SIZE = "50";
+
+    /** Upper bound on the page size a client may request. */
+    public static final int MAX_SIZE = 500;
+
+    /**
+     * Builds a page from a slice fetched with {@link #fetchSize(int)}, i.e. one item
+     * more than requested. The extra item only signals that another page exists and
+     * is dropped from the result.
+     *
+     * @param fetched the items returned by the repository (up to size + 1)
+     * @param size the requested page size
+     * @param sortKey extracts the sort key of an item, encoded into the next cursor
+     * @param <T> the type of the listed items
+     * @return the page of at most {@code size} items
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> sortKey) {
+        if (fetched.size() <= size) {
+            return new CursorPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, size);
+        return new CursorPage<>(List.copyOf(items), encode(sortKey.apply(items.get(size - 1))));
+    }
+
+    /**
+     * Converts the items of this page, keeping the continuation token.
+     * Useful when the sort key is not part of what the client receives.
+     *
+     * @param mapper converts each item
+     * @param <R> the type of the converted items
+     * @return a page of the converted items with the same next cursor
+     */
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor);
+    }
+
+    /**
+     * Clamps a requested page size to {@code [1, MAX_SIZE]}.
+     *
+     * @param requested the page size requested by the client
+     * @return the page size that will be used
+     */
+    public static int clampSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    /**
+     * Number of items to fetch for a page so that the presence of a next page
+     * can be detected without a separate count query.
+     *
+     * @param size the (clamped) page size
+     * @return {@code size + 1}
+     */
+    public static int fetchSize(int size) {
+        return size + 1;
+    }
+
+    /**
+     * Encodes a sort key into an opaque, URL-safe continuation token.
+     *
+     * @param key the sort key of the last item on a page
+     * @return the continuation token
+     */
+    public static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a continuation token back into the sort key to resume after.
+     * A missing token means "start from the beginning" and decodes to an empty
+     * string, which sorts before every non-empty key.
+     *
+     * @param cursor the token received from the client, may be null or blank
+     * @return the sort key to resume after
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static String decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return "";
+        }
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.anas.gameLibrary.common;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Bounded, in-process read-through cache of documents keyed by ID.
+ * Both hits and misses are cached: a document that does not exist is stored as
+ * an empty Optional with a shorter time-to-live, so repeated lookups of unknown
+ * IDs do not reach the database either.
+ *
+ * Entries are evicted by size (least recently/frequently used first) and by age.
+ * Writers must invalidate or refresh entries they change; other nodes pick up
+ * changes once their entries expire.
+ *
+ * @param <T> the type of the cached documents
+ */
+public class EntityCache<T> {
+
+    private final String name;
+    private final Cache<String, Optional<T>> cache;
+
+    /**
+     * Constructs a cache.
+     *
+     * @param name the name reported in statistics
+     * @param maximumSize the maximum number of entries, hits and misses combined
+     * @param ttl how long a cached document stays valid
+     * @param negativeTtl how long a cached miss stays valid
+     */
+    public EntityCache(String name, long maximumSize, Duration ttl, Duration negativeTtl) {
+        this.name = name;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<T>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<T> value, long currentTime) {
+                        return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<T> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<T> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached document for an ID, loading it on a miss.
+     * Concurrent lookups of the same missing ID share a single load.
+     *
+     * @param id the document ID
+     * @param loader loads the document from the database
+     * @return the document, or empty if it does not exist
+     */
+    public Optional<T> get(String id, Function<String, Optional<T>> loader) {
+        return cache.get(id, loader);
+    }
+
+    /**
+     * Returns the cached documents for several IDs, loading all the misses with a single call.
+     * IDs the loader does not return are cached as missing.
+     *
+     * @param ids the document IDs
+     * @param loader loads the documents for the missed IDs from the database, keyed by ID
+     * @return the documents that exist, keyed by ID
+     */
+    public Map<String, T> getAll(Collection<String> ids, Function<Collection<String>, Map<String, T>> loader) {
+        Map<String, Optional<T>> cached = cache.getAll(ids, missing -> {
+            Map<String, T> loaded = loader.apply(Set.copyOf(missing));
+            Map<String, Optional<T>> entries = new HashMap<>();
+            missing.forEach(id -> entries.put(id, Optional.ofNullable(loaded.get(id))));
+            return entries;
+        });
+
+        Map<String, T> found = new HashMap<>();
+        cached.forEach((id, document) -> document.ifPresent(value -> found.put(id, value)));
+        return found;
+    }
+
+    /**
+     * Stores the current state of a document, typically right after it was written.
+     *
+     * @param id the document ID
+     * @param document the document as stored in the database
+     */
+    public void put(String id, T document) {
+        cache.put(id, Optional.of(document));
+    }
+
+    /**
+     * Drops the entry for an ID so the next lookup reloads it.
+     *
+     * @param id the document ID
+     */
+    public void invalidate(String id) {
+        cache.invalidate(id);
+    }
+
+    /**
+     * Drops the entries for several IDs.
+     *
+     * @param ids the document IDs
+     */
+    public void invalidateAll(Collection<String> ids) {
+        cache.invalidateAll(ids);
+    }
+
+    /**
+     * Returns a snapshot of this cache's statistics.
+     *
+     * @return hit, miss and eviction counters along with the current size
+     */
+    public CacheStatistics stats() {
+        CacheStats stats = cache.stats();
+        return new CacheStatistics(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount());
+    }
+}
@@ -0,0 +1,29 @@
+package com.anas.gameLibrary.common;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 64-bit string hashing shared by the in-memory probabilistic structures.
+ */
+final class Hashing {
+
+    private Hashing() {
+    }
+
+    /** 64-bit FNV-1a over the UTF-8 bytes, finished with a mix step. */
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /** SplitMix64 finalizer. */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,167 @@
+package com.anas.gameLibrary.common;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct strings added to it.
+ *
+ * A sketch of precision p keeps 2^p one-byte registers, so its size is fixed however many
+ * values are added, and its estimates have a relative standard error of about
+ * 1.04 / sqrt(2^p). Adding a value twice changes nothing, and two sketches of the same
+ * precision merge by taking the larger register of each pair, so sketches built on
+ * different nodes or at different times combine into the sketch of the union.
+ *
+ * Sketches are not thread-safe; callers sharing one must synchronize.
+ */
+public class HyperLogLog {
+
+    /** Smallest supported precision. */
+    public static final int MIN_PRECISION = 4;
+
+    /** Largest supported precision. */
+    public static final int MAX_PRECISION = 16;
+
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param precision the number of index bits, between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Invalid HyperLogLog precision: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    private HyperLogLog(int precision, byte[] registers) {
+        this.precision = precision;
+        this.registers = registers;
+    }
+
+    /**
+     * Reads a sketch written by {@link #toBytes()}.
+     *
+     * @param bytes the serialized sketch
+     * @return the sketch
+     * @throws IllegalArgumentException if the bytes are not a serialized sketch
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length < 1) {
+            throw new IllegalArgumentException("Empty HyperLogLog sketch");
+        }
+        int precision = bytes[0];
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION || bytes.length != 1 + (1 << precision)) {
+            throw new IllegalArgumentException("Malformed HyperLogLog sketch of " + bytes.length + " bytes");
+        }
+        return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+
+    /**
+     * Relative standard error of the estimates of a sketch of the given precision.
+     *
+     * @param precision the precision of the sketch
+     * @return the relative standard error, e.g. 0.023 for 2.3%
+     */
+    public static double standardError(int precision) {
+        return 1.04 / Math.sqrt(1 << precision);
+    }
+
+    /**
+     * The precision this sketch was created with.
+     *
+     * @return the number of index bits
+     */
+    public int precision() {
+        return precision;
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value the value to count
+     */
+    public void add(String value) {
+        long hash = Hashing.hash64(value);
+        int index = (int) (hash >>> (64 - precision));
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1);
+        if (registers[index] < rank) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * Merges another sketch into this one, so that it estimates the union of both.
+     *
+     * @param other the sketch to merge, of the same precision
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge HyperLogLog sketches of precision "
+                    + other.precision + " into " + precision);
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (registers[i] < other.registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct values added, using linear counting while
+     * many registers are still empty.
+     *
+     * @return the estimated number of distinct values
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Whether nothing has been added to the sketch.
+     *
+     * @return true if every register is empty
+     */
+    public boolean isEmpty() {
+        for (byte register : registers) {
+            if (register != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Serializes the sketch as its precision followed by its registers.
+     *
+     * @return 1 + 2^precision bytes
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[1 + registers.length];
+        bytes[0] = (byte) precision;
+        System.arraycopy(registers, 0, bytes, 1, registers.length);
+        return bytes;
+    }
+}
@@ -0,0 +1,214 @@
+package com.anas.gameLibrary.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * In-process Bloom filter over the IDs of one document type, used to answer
+ * "does this ID exist?" without a database round trip when the answer is no.
+ *
+ * {@link #mightContain(String)} never returns false for an ID that was loaded or added,
+ * so a negative answer is definite and callers can reject it immediately; a positive
+ * answer may be a false positive and must be confirmed against the cache or the database.
+ * Until the first {@link #rebuild} completes every ID is reported as possibly present.
+ *
+ * Bloom filters cannot forget, so deletions are not reported: a deleted ID simply stays
+ * a (false) positive until the next rebuild, and callers invalidate their cache on delete
+ * so that the confirmation answers for it.
+ *
+ * The filter only sees the writes made through this process, so IDs written by other
+ * application instances are missing from it until the next rebuild. Callers rebuild it
+ * periodically, and once the last rebuild started more than the configured maximum
+ * staleness ago, every ID is reported as possibly present again, so that a stalled rebuild
+ * never turns into lasting wrong negatives.
+ */
+public class IdMembershipFilter {
+    private static final Logger log = LoggerFactory.getLogger(IdMembershipFilter.class);
+
+    private final String name;
+    private final long expectedIds;
+    private final double falsePositiveRate;
+    private final long maxStalenessNanos;
+    private final Object lock = new Object();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    private volatile Bits bits;
+    private Bits building;
+
+    /**
+     * Creates an empty, not yet loaded filter.
+     *
+     * @param name the name used in log messages
+     * @param expectedIds the number of IDs the filter is sized for, at least
+     * @param falsePositiveRate the target false positive rate at that size
+     * @param maxStaleness how long after a rebuild started its negative answers are trusted
+     */
+    public IdMembershipFilter(String name, long expectedIds, double falsePositiveRate, Duration maxStaleness) {
+        if (expectedIds < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1 || maxStaleness.isNegative()) {
+            throw new IllegalArgumentException("Invalid membership filter settings for " + name);
+        }
+        this.name = name;
+        this.expectedIds = expectedIds;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    /**
+     * Checks whether an ID may exist.
+     *
+     * @param id the ID to check
+     * @return false if the ID definitely does not exist, true if it may
+     */
+    public boolean mightContain(String id) {
+        Bits current = bits;
+        return current == null || isStale(current) || current.mightContain(id);
+    }
+
+    /**
+     * Whether the filter has been loaded and can answer negatively.
+     *
+     * @return true once a rebuild has completed and while it is not older than the maximum staleness
+     */
+    public boolean isLoaded() {
+        Bits current = bits;
+        return current != null && !isStale(current);
+    }
+
+    private boolean isStale(Bits current) {
+        return System.nanoTime() - current.startedAt > maxStalenessNanos;
+    }
+
+    /**
+     * Records a newly written ID.
+     *
+     * @param id the ID of the written document
+     */
+    public void add(String id) {
+        synchronized (lock) {
+            if (bits != null) {
+                bits.add(id);
+            }
+            if (building != null) {
+                building.add(id);
+            }
+        }
+    }
+
+    /**
+     * Records several newly written IDs.
+     *
+     * @param ids the IDs of the written documents
+     */
+    public void addAll(Collection<String> ids) {
+        synchronized (lock) {
+            ids.forEach(this::add);
+        }
+    }
+
+    /**
+     * Replaces the filter contents with the given IDs.
+     * IDs added while the rebuild is running are recorded in the new filter too,
+     * and if counting or reading the IDs fails the previous contents are kept.
+     * A rebuild requested while another one is running is skipped.
+     *
+     * @param count supplies the number of IDs about to be loaded, used to size the filter
+     * @param ids supplies the stream of all IDs; the stream is closed by this method
+     */
+    public void rebuild(LongSupplier count, Supplier<Stream<String>> ids) {
+        if (!rebuildLock.tryLock()) {
+            log.info("{} membership filter is already being rebuilt, skipping", name);
+            return;
+        }
+        try {
+            rebuildLocked(count, ids);
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void rebuildLocked(LongSupplier count, Supplier<Stream<String>> ids) {
+        long startedAt = System.nanoTime();
+        Bits fresh;
+        try {
+            long expected = count.getAsLong();
+            log.info("Building {} membership filter for about {} IDs", name, expected);
+            fresh = new Bits(Math.max(expectedIds, expected * 2), falsePositiveRate, startedAt);
+            synchronized (lock) {
+                building = fresh;
+            }
+            try (Stream<String> stream = ids.get()) {
+                stream.forEach(fresh::add);
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to build {} membership filter, keeping the previous one", name, e);
+            synchronized (lock) {
+                building = null;
+            }
+            return;
+        }
+        synchronized (lock) {
+            building = null;
+            bits = fresh;
+        }
+        log.info("{} membership filter built with {} bits and {} hash functions",
+                name, fresh.size(), fresh.hashes);
+    }
+
+    /**
+     * Fixed-size bit array with k hash functions derived from two base hashes.
+     * Bits are only ever set, so concurrent readers need no locking.
+     */
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashes;
+        private final long startedAt;
+
+        Bits(long expected, double falsePositiveRate, long startedAt) {
+            long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (bits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+            this.startedAt = startedAt;
+        }
+
+        long size() {
+            return bitCount;
+        }
+
+        void add(String id) {
+            long h1 = Hashing.hash64(id);
+            long h2 = Hashing.mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+        }
+
+        boolean mightContain(String id) {
+            long h1 = Hashing.hash64(id);
+            long h2 = Hashing.mix(h1) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
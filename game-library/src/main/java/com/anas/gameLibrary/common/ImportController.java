@@ -0,0 +1,57 @@
+package com.anas.gameLibrary.common;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the progress of NDJSON imports.
+ * The imports themselves are started from the import endpoints of each document type.
+ */
+@RestController
+@RequestMapping("/api/imports")
+@Tag(name = "Imports", description = "Endpoints for following NDJSON imports")
+public class ImportController {
+
+    private final ImportJobRepository jobRepository;
+
+    /**
+     * Constructs an ImportController over the stored import jobs.
+     *
+     * @param jobRepository repository of import job checkpoints
+     */
+    public ImportController(ImportJobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * Retrieves the most recently started imports.
+     *
+     * @return up to 20 import jobs, latest first
+     */
+    @GetMapping
+    @Operation(summary = "List imports", description = "Returns the most recently started import jobs")
+    public ResponseEntity<List<ImportJob>> getImports() {
+        return ResponseEntity.ok(jobRepository.findTop20ByOrderByStartedAtDesc());
+    }
+
+    /**
+     * Retrieves the progress and throughput of an import.
+     *
+     * @param id the ID of the import job
+     * @return the job as of its last checkpoint, or 404 Not Found
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Get import status", description = "Returns the committed line, counts, errors and throughput of an import job")
+    public ResponseEntity<ImportJob> getImport(@PathVariable String id) {
+        return jobRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
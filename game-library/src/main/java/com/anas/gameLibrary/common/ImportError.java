@@ -0,0 +1,15 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * A record of an import that was rejected or failed to be written.
+ *
+ * @param line the 1-based line number of the record in the uploaded body
+ * @param id the ID of the document the record refers to, if known
+ * @param message why the record was not written
+ */
+public record ImportError(
+        long line,
+        String id,
+        String message
+) {
+}
@@ -0,0 +1,45 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of an NDJSON import, kept in the {@code importJobs} collection and
+ * checkpointed after every committed batch.
+ * An interrupted import is resumed by uploading the same body again under the same
+ * job ID: the first {@code committedLines} lines are skipped without being parsed.
+ * The startedAt index serves the listing of the most recent jobs.
+ *
+ * @param id the ID of the job, chosen by the client or generated
+ * @param target what the job imports, e.g. {@code games}
+ * @param status the state of the job
+ * @param committedLines the number of lines of the body whose records have been written or rejected
+ * @param succeeded the number of records written
+ * @param failed the number of records rejected or failed
+ * @param errors the first rejected or failed records
+ * @param resumedFrom the value of {@code committedLines} when the current run started
+ * @param startedAt when the current run started
+ * @param updatedAt when the job was last checkpointed
+ * @param recordsPerSecond the throughput of the current run
+ * @param message why the job failed, null otherwise
+ */
+@Document("importJobs")
+public record ImportJob(
+        @Id String id,
+        String target,
+        ImportJobStatus status,
+        long committedLines,
+        long succeeded,
+        long failed,
+        List<ImportError> errors,
+        long resumedFrom,
+        @Indexed Instant startedAt,
+        Instant updatedAt,
+        double recordsPerSecond,
+        String message
+) {
+}
@@ -0,0 +1,18 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+/**
+ * Repository for {@link ImportJob} checkpoints.
+ */
+public interface ImportJobRepository extends MongoRepository<ImportJob, String> {
+
+    /**
+     * Retrieves the most recently started import jobs.
+     *
+     * @return up to 20 jobs, latest first
+     */
+    List<ImportJob> findTop20ByOrderByStartedAtDesc();
+}
@@ -0,0 +1,10 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * Lifecycle state of an {@link ImportJob}.
+ */
+public enum ImportJobStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
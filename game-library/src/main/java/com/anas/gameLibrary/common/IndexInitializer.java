@@ -0,0 +1,282 @@
+package com.anas.gameLibrary.common;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates the indexes declared on the documents and reports repository queries no index supports.
+ *
+ * Indexes are declared with {@code @Indexed} and {@code @CompoundIndex} on the document records,
+ * and automatic index creation is turned off. Unique indexes enforce rules the services rely on,
+ * such as unique usernames and collection names per player, so they are created while the
+ * application context starts, before the seed data is loaded and before the web server accepts
+ * requests, after the {@link IndexMigration} beans have updated the documents written before an
+ * index was declared; if one cannot be built, for instance because the collection already holds
+ * duplicates, startup fails instead of running without the rule. The other indexes only speed queries up, so
+ * startup does not wait for them: once the application is ready, a background thread creates them,
+ * then checks each derived query method of each repository: a query counts as supported when, for
+ * each of its {@code Or} branches, some index starts with one of the fields the branch filters on,
+ * or, for queries without criteria, with the first sort field. Only indexes with the query's
+ * collation count, since MongoDB cannot use an index built with another collation for string
+ * comparisons; a query uses the collation of its {@code @Collation} annotation, else that of its
+ * document, else the simple one. Unsupported queries are logged as warnings, since they scan the
+ * whole collection.
+ */
+@Component
+public class IndexInitializer implements SmartInitializingSingleton {
+    private static final Logger log = LoggerFactory.getLogger(IndexInitializer.class);
+
+    private static final String SIMPLE_LOCALE = "simple";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+    private final ListableBeanFactory beanFactory;
+
+    /**
+     * Constructs the initializer.
+     *
+     * @param mongoTemplate the template used to create and list indexes
+     * @param mappingContext the mapping context the index declarations are read from
+     * @param beanFactory the bean factory the repositories are looked up in
+     */
+    public IndexInitializer(MongoTemplate mongoTemplate, MongoMappingContext mappingContext,
+                            ListableBeanFactory beanFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.mappingContext = mappingContext;
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * Runs the {@link IndexMigration} beans, then creates the unique indexes, once every bean
+     * is instantiated and before the application starts.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        beanFactory.getBeansOfType(IndexMigration.class).values().forEach(IndexMigration::migrate);
+        createUniqueIndexes();
+    }
+
+    /**
+     * Creates the other indexes and writes the report on a background thread once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeInBackground() {
+        Thread thread = new Thread(() -> {
+            try {
+                createIndexes();
+                verify();
+            } catch (RuntimeException e) {
+                log.error("Index initialization failed", e);
+            }
+        }, "index-initializer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Creates every unique index declared on the mapped documents. Creating an index that
+     * already exists with the same definition does nothing.
+     *
+     * @return the number of unique indexes created or confirmed
+     * @throws IllegalStateException if a unique index cannot be created
+     */
+    public int createUniqueIndexes() {
+        int created = 0;
+        for (DeclaredIndex declared : declaredIndexes(true)) {
+            try {
+                create(declared);
+                created++;
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Cannot create unique index " + declared.index().getIndexKeys().toJson()
+                        + " on " + declared.entity().getCollection(), e);
+            }
+        }
+        log.info("{} declared unique indexes are in place", created);
+        return created;
+    }
+
+    /**
+     * Creates every non-unique index declared on the mapped documents. Creating an index that
+     * already exists with the same definition does nothing; a failed index is logged and skipped.
+     *
+     * @return the number of indexes created or confirmed
+     */
+    public int createIndexes() {
+        int created = 0;
+        for (DeclaredIndex declared : declaredIndexes(false)) {
+            try {
+                create(declared);
+                created++;
+            } catch (RuntimeException e) {
+                log.error("Failed to create index {} on {}", declared.index().getIndexKeys().toJson(),
+                        declared.entity().getCollection(), e);
+            }
+        }
+        log.info("{} declared indexes are in place", created);
+        return created;
+    }
+
+    private void create(DeclaredIndex declared) {
+        String name = mongoTemplate.indexOps(declared.entity().getType()).createIndex(declared.index());
+        log.debug("Index {} on {} is in place", name, declared.entity().getCollection());
+    }
+
+    private List<DeclaredIndex> declaredIndexes(boolean unique) {
+        IndexResolver resolver = IndexResolver.create(mappingContext);
+        List<DeclaredIndex> declared = new ArrayList<>();
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(Document.class)) {
+                continue;
+            }
+            for (IndexDefinition index : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                if (index.getIndexOptions().getBoolean("unique", false) == unique) {
+                    declared.add(new DeclaredIndex(entity, index));
+                }
+            }
+        }
+        return declared;
+    }
+
+    /**
+     * Checks every derived query method of every repository against the indexes that exist
+     * and logs the ones no index supports.
+     *
+     * @return the unsupported query methods, as {@code Repository.method}
+     */
+    public List<String> verify() {
+        Repositories repositories = new Repositories(beanFactory);
+        List<String> unsupported = new ArrayList<>();
+        int checked = 0;
+        for (Class<?> domainType : repositories) {
+            Class<?> repositoryInterface = repositories.getRequiredRepositoryInformation(domainType).getRepositoryInterface();
+            List<IndexInfo> indexes = mongoTemplate.indexOps(domainType).getIndexInfo();
+            checked += queryMethods(repositoryInterface).size();
+            for (String method : unindexedQueries(repositoryInterface, domainType, indexes)) {
+                unsupported.add(repositoryInterface.getSimpleName() + "." + method);
+            }
+        }
+
+        if (unsupported.isEmpty()) {
+            log.info("Index report: all {} repository query methods are supported by an index", checked);
+        } else {
+            unsupported.forEach(method ->
+                    log.warn("Index report: {} has no supporting index and scans its collection", method));
+        }
+        return unsupported;
+    }
+
+    /**
+     * Finds the derived query methods declared on a repository interface that no given index supports.
+     * Methods inherited from Spring Data interfaces and custom fragment methods are not checked.
+     *
+     * @param repositoryInterface the repository interface
+     * @param domainType the document type the repository manages
+     * @param indexes the indexes of the document's collection
+     * @return the names of the unsupported methods, sorted
+     */
+    public List<String> unindexedQueries(Class<?> repositoryInterface, Class<?> domainType, List<IndexInfo> indexes) {
+        Collation documentCollation = mappingContext.getRequiredPersistentEntity(domainType).getCollation();
+
+        List<String> unsupported = new ArrayList<>();
+        for (Method method : queryMethods(repositoryInterface)) {
+            org.springframework.data.mongodb.core.annotation.Collation annotation =
+                    method.getAnnotation(org.springframework.data.mongodb.core.annotation.Collation.class);
+            Collation collation = annotation != null ? Collation.parse(annotation.value()) : documentCollation;
+            Set<String> leadingKeys = indexes.stream()
+                    .filter(index -> !index.getIndexFields().isEmpty() && sameCollation(index, collation))
+                    .map(index -> index.getIndexFields().get(0).getKey())
+                    .collect(Collectors.toSet());
+
+            PartTree tree = new PartTree(method.getName(), domainType);
+            if (!isSupported(tree, domainType, leadingKeys)) {
+                unsupported.add(method.getName());
+            }
+        }
+        unsupported.sort(Comparator.naturalOrder());
+        return unsupported;
+    }
+
+    private boolean isSupported(PartTree tree, Class<?> domainType, Set<String> leadingKeys) {
+        List<PartTree.OrPart> branches = tree.stream().toList();
+        if (branches.isEmpty()) {
+            Sort.Order first = tree.getSort().stream().findFirst().orElse(null);
+            return first == null || leadingKeys.contains(fieldName(PropertyPath.from(first.getProperty(), domainType)));
+        }
+        for (PartTree.OrPart branch : branches) {
+            boolean indexed = false;
+            for (Part part : branch) {
+                indexed |= leadingKeys.contains(fieldName(part.getProperty()));
+            }
+            if (!indexed) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether an index was built with a query's collation. A missing collation and the simple
+     * one are the same; otherwise the locale and every option the query sets must match, since
+     * MongoDB reports an index collation with all its defaults filled in.
+     */
+    private static boolean sameCollation(IndexInfo index, Collation collation) {
+        org.bson.Document indexCollation = index.getCollation().filter(IndexInitializer::isNotSimple).orElse(null);
+        org.bson.Document queryCollation = Optional.ofNullable(collation).map(Collation::toDocument)
+                .filter(IndexInitializer::isNotSimple).orElse(null);
+        if (indexCollation == null || queryCollation == null) {
+            return indexCollation == queryCollation;
+        }
+        return queryCollation.entrySet().stream()
+                .allMatch(option -> Objects.equals(indexCollation.get(option.getKey()), option.getValue()));
+    }
+
+    private static boolean isNotSimple(org.bson.Document collation) {
+        return !SIMPLE_LOCALE.equals(collation.getString("locale"));
+    }
+
+    private String fieldName(PropertyPath path) {
+        return mappingContext.getPersistentPropertyPath(path).toDotPath(MongoPersistentProperty::getFieldName);
+    }
+
+    /**
+     * An index declared on a mapped document.
+     */
+    private record DeclaredIndex(MongoPersistentEntity<?> entity, IndexDefinition index) {
+    }
+
+    private static List<Method> queryMethods(Class<?> repositoryInterface) {
+        return Arrays.stream(repositoryInterface.getDeclaredMethods())
+                .filter(method -> !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .toList();
+    }
+}
@@ -0,0 +1,14 @@
+package com.anas.gameLibrary.common;
+
+/**
+ * Brings existing documents in line with a declared unique index.
+ * Every bean implementing it is run by {@link IndexInitializer} at startup,
+ * before the unique indexes are built; a failure fails startup.
+ */
+public interface IndexMigration {
+
+    /**
+     * Updates the documents written before the index was declared.
+     */
+    void migrate();
+}
@@ -0,0 +1,105 @@
+package com.anas.gameLibrary.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a stream of documents to the HTTP response as newline-delimited JSON.
+ * Documents are serialized one at a time straight from the database cursor,
+ * so memory use stays constant no matter how many documents are exported.
+ */
+@Component
+public class NdjsonExporter {
+    private static final Logger log = LoggerFactory.getLogger(NdjsonExporter.class);
+
+    /** Media type of newline-delimited JSON. */
+    public static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /** Cursor batch size used when the client does not ask for one, as a request parameter default. */
+    public static final String DEFAULT_BATCH_SIZE = "500";
+
+    /** Upper bound on the cursor batch size a client may request. */
+    public static final int MAX_BATCH_SIZE = 10_000;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectWriter writer;
+
+    /**
+     * Constructs an exporter that serializes documents with the application's ObjectMapper.
+     *
+     * @param objectMapper the mapper used for all JSON output
+     */
+    public NdjsonExporter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Clamps a requested cursor batch size to {@code [1, MAX_BATCH_SIZE]}.
+     *
+     * @param requested the batch size requested by the client
+     * @return the batch size that will be used
+     */
+    public static int clampBatchSize(int requested) {
+        return Math.max(1, Math.min(requested, MAX_BATCH_SIZE));
+    }
+
+    /**
+     * Builds a streaming response that writes every document of the source as one JSON line.
+     * The source is opened only once the response body is being written and is always closed
+     * afterwards, releasing the underlying database cursor.
+     *
+     * @param name the export name, used for the download file name
+     * @param source supplies the document stream to export
+     * @param gzip whether to gzip the response body
+     * @param <T> the type of the exported documents
+     * @return the streaming response
+     */
+    public <T> ResponseEntity<StreamingResponseBody> export(String name, Supplier<Stream<T>> source, boolean gzip) {
+        StreamingResponseBody body = out -> {
+            long count = 0;
+            OutputStream target = gzip ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+
+            try (Stream<T> documents = source.get();
+                 JsonGenerator generator = writer.createGenerator(target)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+
+                for (T document : (Iterable<T>) documents::iterator) {
+                    writer.writeValue(generator, document);
+                    generator.writeRaw('\n');
+                    count++;
+                }
+            }
+
+            if (target instanceof GZIPOutputStream gzipOut) {
+                gzipOut.finish();
+            }
+            log.info("Exported {} documents from {}", count, name);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(name + ".ndjson").build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+}
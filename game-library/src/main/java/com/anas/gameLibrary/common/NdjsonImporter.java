@@ -0,0 +1,298 @@
+package com.anas.gameLibrary.common;
+
+import com.anas.gameLibrary.exception.ConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Imports newline-delimited JSON request bodies through the bulk write paths.
+ *
+ * The request thread parses the body one line at a time and hands fixed-size batches to a
+ * writer thread over a bounded queue. When the database falls behind the queue fills up, the
+ * parser blocks, and the body stops being read, so the upload is slowed down instead of
+ * being buffered in memory. After every batch is written the job's progress is checkpointed
+ * to its {@link ImportJob}; re-uploading the same body under the same job ID resumes after
+ * the last checkpoint. Records of the batch that was in flight when an import was interrupted
+ * may be written twice, which the insert-only paths report as duplicates.
+ */
+@Component
+public class NdjsonImporter {
+    private static final Logger log = LoggerFactory.getLogger(NdjsonImporter.class);
+
+    /** Number of records written per batch. */
+    public static final int BATCH_SIZE = 1_000;
+
+    /** Number of parsed batches that may wait for the writer before parsing blocks. */
+    public static final int QUEUE_CAPACITY = 4;
+
+    /** Maximum number of imports running at the same time. */
+    public static final int MAX_ACTIVE_IMPORTS = 4;
+
+    /** Maximum number of rejected records kept on a job. */
+    public static final int MAX_RECORDED_ERRORS = 100;
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ImportJobRepository jobRepository;
+    private final Clock clock;
+    private final ExecutorService writers;
+    private final Set<String> active = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs an importer that parses records with the application's ObjectMapper.
+     *
+     * @param objectMapper the mapper used to read the records
+     * @param jobRepository repository the job checkpoints are written to
+     * @param clock the clock used to timestamp checkpoints
+     */
+    public NdjsonImporter(ObjectMapper objectMapper, ImportJobRepository jobRepository, Clock clock) {
+        this.objectMapper = objectMapper;
+        this.jobRepository = jobRepository;
+        this.clock = clock;
+        this.writers = Executors.newFixedThreadPool(MAX_ACTIVE_IMPORTS, task -> {
+            Thread thread = new Thread(task, "ndjson-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports an NDJSON body, starting a new job or resuming an unfinished one, and
+     * returns once every line has been written or the import failed.
+     *
+     * @param target what is imported, recorded on the job; a resumed job must have the same target
+     * @param jobId the ID of the job to start or resume, or null to start one with a generated ID
+     * @param body the request body, one JSON record per line
+     * @param gzip whether the body is gzipped
+     * @param type the type of the records
+     * @param idOf extracts the ID reported for a rejected record
+     * @param writer writes one batch of records and returns one result per record
+     * @param <T> the type of the records
+     * @return the job after the import
+     * @throws IllegalArgumentException if the job already completed or belongs to another target
+     * @throws ConflictException if the job is already running or too many imports are running
+     */
+    public <T> ImportJob importNdjson(String target, String jobId, InputStream body, boolean gzip,
+                                      Class<T> type, Function<T, String> idOf,
+                                      Function<List<T>, BulkResult> writer) {
+        String id = jobId == null || jobId.isBlank() ? UUID.randomUUID().toString() : jobId;
+        if (!active.add(id)) {
+            throw new ConflictException("Import job " + id + " is already running");
+        }
+        try {
+            if (active.size() > MAX_ACTIVE_IMPORTS) {
+                throw new ConflictException("Too many imports running, try again later");
+            }
+            ImportJob job = jobRepository.save(start(id, target));
+            log.info("Import job {} of {} started at line {}", id, target, job.resumedFrom() + 1);
+
+            BlockingQueue<Batch<T>> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            Future<ImportJob> writing = writers.submit(() -> drain(job, queue, idOf, writer));
+            String failure = null;
+            try {
+                parse(job, body, gzip, objectMapper.readerFor(type), queue, writing);
+            } catch (IOException | RuntimeException e) {
+                failure = "Upload interrupted: " + e.getMessage();
+                log.warn("Import job {} upload interrupted", id, e);
+            }
+            hand(queue, new Batch<>(-1, List.of(), List.of(), List.of(), true, failure), writing);
+            return await(writing);
+        } finally {
+            active.remove(id);
+        }
+    }
+
+    /**
+     * Stops the writer threads when the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+
+    private ImportJob start(String id, String target) {
+        Instant now = Instant.now(clock);
+        ImportJob existing = jobRepository.findById(id).orElse(null);
+        if (existing == null) {
+            return new ImportJob(id, target, ImportJobStatus.RUNNING, 0, 0, 0, List.of(), 0, now, now, 0, null);
+        }
+        if (!existing.target().equals(target)) {
+            throw new IllegalArgumentException("Import job " + id + " imports " + existing.target() + ", not " + target);
+        }
+        if (existing.status() == ImportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Import job " + id + " already completed");
+        }
+        return new ImportJob(id, target, ImportJobStatus.RUNNING, existing.committedLines(), existing.succeeded(),
+                existing.failed(), existing.errors(), existing.committedLines(), now, now, 0, null);
+    }
+
+    /**
+     * Reads the body line by line, skipping lines committed by earlier runs, and queues
+     * batches of parsed records together with the lines that could not be parsed.
+     * Stops early if the writer has finished, which only happens when it failed.
+     */
+    private <T> void parse(ImportJob job, InputStream body, boolean gzip, ObjectReader reader,
+                           BlockingQueue<Batch<T>> queue, Future<ImportJob> writing) throws IOException {
+        InputStream in = gzip ? new GZIPInputStream(body, READ_BUFFER_SIZE) : body;
+        BufferedReader lines = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+
+        long lineNumber = 0;
+        List<Long> recordLines = new ArrayList<>(BATCH_SIZE);
+        List<T> records = new ArrayList<>(BATCH_SIZE);
+        List<ImportError> errors = new ArrayList<>();
+        for (String line = lines.readLine(); line != null; line = lines.readLine()) {
+            lineNumber++;
+            if (lineNumber <= job.resumedFrom() || line.isBlank()) {
+                continue;
+            }
+            try {
+                T record = reader.readValue(line);
+                if (record == null) {
+                    errors.add(new ImportError(lineNumber, null, "Empty record"));
+                } else {
+                    records.add(record);
+                    recordLines.add(lineNumber);
+                }
+            } catch (JsonProcessingException e) {
+                errors.add(new ImportError(lineNumber, null, "Malformed record: " + e.getOriginalMessage()));
+            }
+            if (records.size() + errors.size() >= BATCH_SIZE) {
+                if (!hand(queue, new Batch<>(lineNumber, recordLines, records, errors, false, null), writing)) {
+                    return;
+                }
+                recordLines = new ArrayList<>(BATCH_SIZE);
+                records = new ArrayList<>(BATCH_SIZE);
+                errors = new ArrayList<>();
+            }
+        }
+        if (lineNumber > job.resumedFrom()) {
+            hand(queue, new Batch<>(lineNumber, recordLines, records, errors, false, null), writing);
+        }
+    }
+
+    /**
+     * Queues a batch, waiting while the queue is full unless the writer has finished.
+     *
+     * @return false if the writer finished and the batch was dropped
+     */
+    private static <T> boolean hand(BlockingQueue<Batch<T>> queue, Batch<T> batch, Future<ImportJob> writing) {
+        try {
+            while (!queue.offer(batch, 1, TimeUnit.SECONDS)) {
+                if (writing.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing an import batch", e);
+        }
+    }
+
+    /**
+     * Writes queued batches in order, checkpointing the job after each one, until the end marker.
+     * A write failure ends the job as failed at the last checkpoint.
+     */
+    private <T> ImportJob drain(ImportJob job, BlockingQueue<Batch<T>> queue, Function<T, String> idOf,
+                               Function<List<T>, BulkResult> writer) throws InterruptedException {
+        ImportJob current = job;
+        while (true) {
+            Batch<T> batch = queue.take();
+            if (batch.end()) {
+                return finish(current, batch.failure());
+            }
+            try {
+                BulkResult result = batch.records().isEmpty() ? BulkResult.of(List.of()) : writer.apply(batch.records());
+                current = jobRepository.save(checkpoint(current, batch, result, idOf));
+            } catch (RuntimeException e) {
+                log.error("Import job {} failed after line {}", job.id(), current.committedLines(), e);
+                return finish(current, "Write failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private <T> ImportJob checkpoint(ImportJob job, Batch<T> batch, BulkResult result, Function<T, String> idOf) {
+        List<ImportError> rejected = new ArrayList<>(batch.errors());
+        for (BulkItemResult item : result.items()) {
+            if (!item.status().isSuccess()) {
+                String id = item.id() != null ? item.id() : idOf.apply(batch.records().get(item.index()));
+                rejected.add(new ImportError(batch.lines().get(item.index()), id,
+                        item.message() != null ? item.message() : item.status().name()));
+            }
+        }
+        rejected.sort(Comparator.comparingLong(ImportError::line));
+        List<ImportError> errors = new ArrayList<>(job.errors());
+        errors.addAll(rejected.subList(0, Math.min(rejected.size(), Math.max(0, MAX_RECORDED_ERRORS - errors.size()))));
+
+        Instant now = Instant.now(clock);
+        long lines = batch.lastLine() - job.resumedFrom();
+        double seconds = Math.max(0.001, Duration.between(job.startedAt(), now).toMillis() / 1000.0);
+        return new ImportJob(job.id(), job.target(), ImportJobStatus.RUNNING, batch.lastLine(),
+                job.succeeded() + result.succeeded(), job.failed() + result.failed() + batch.errors().size(),
+                errors, job.resumedFrom(), job.startedAt(), now, lines / seconds, null);
+    }
+
+    private ImportJob finish(ImportJob job, String failure) {
+        ImportJobStatus status = failure == null ? ImportJobStatus.COMPLETED : ImportJobStatus.FAILED;
+        ImportJob finished = new ImportJob(job.id(), job.target(), status, job.committedLines(), job.succeeded(),
+                job.failed(), job.errors(), job.resumedFrom(), job.startedAt(), Instant.now(clock),
+                job.recordsPerSecond(), failure);
+        try {
+            finished = jobRepository.save(finished);
+        } catch (RuntimeException e) {
+            log.error("Failed to record the end of import job {}", job.id(), e);
+        }
+        log.info("Import job {} {} at line {}: {} succeeded, {} failed ({} records/s)", job.id(), status,
+                finished.committedLines(), finished.succeeded(), finished.failed(), Math.round(finished.recordsPerSecond()));
+        return finished;
+    }
+
+    private static ImportJob await(Future<ImportJob> writing) {
+        try {
+            return writing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an import to finish", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Import writer failed", e.getCause());
+        }
+    }
+
+    /**
+     * Records parsed from consecutive lines, up to and including {@code lastLine},
+     * or the end marker carrying the reason the upload stopped early, if it did.
+     */
+    private record Batch<T>(long lastLine, List<Long> lines, List<T> records, List<ImportError> errors,
+                            boolean end, String failure) {
+    }
+}
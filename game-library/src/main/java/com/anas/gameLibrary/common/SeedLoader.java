@@ -0,0 +1,215 @@
+package com.anas.gameLibrary.common;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads seed data from JSON array files into empty collections.
+ *
+ * Files are parsed record by record with Jackson's streaming parser and written in
+ * fixed-size unordered bulk writes, so memory use depends on the batch size rather than
+ * the file size. Independent files are loaded concurrently, and each load reports its
+ * throughput in records per second.
+ *
+ * A file named {@code players.json} is read from {@code players.json} or, if that does
+ * not exist, {@code players.json.gz}; gzipped content is recognized by its magic bytes
+ * whatever the file is called.
+ */
+@Component
+public class SeedLoader {
+    private static final Logger log = LoggerFactory.getLogger(SeedLoader.class);
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+    private final MongoTemplate mongoTemplate;
+    private final SeedProperties properties;
+
+    /**
+     * A seed file and how to write its records.
+     *
+     * @param file the name of the file, relative to the configured location
+     * @param type the type of the records in the file
+     * @param writer writes one batch of records and returns one result per record
+     * @param <T> the type of the records
+     */
+    public record Seed<T>(String file, Class<T> type, Function<List<T>, List<BulkItemResult>> writer) {
+    }
+
+    /**
+     * Outcome of loading one seed file.
+     *
+     * @param file the name of the file
+     * @param records the number of records read
+     * @param failed the number of records the database rejected
+     * @param millis how long the load took
+     */
+    public record SeedReport(String file, long records, long failed, long millis) {
+
+        /**
+         * Throughput of the load.
+         *
+         * @return the number of records read per second
+         */
+        public long recordsPerSecond() {
+            return records * 1000 / Math.max(1, millis);
+        }
+    }
+
+    /**
+     * Constructs a loader.
+     *
+     * @param objectMapper the mapper used to read the records
+     * @param resourceLoader resolves the seed file locations
+     * @param mongoTemplate the template used to check whether a collection is empty
+     * @param properties the seed settings
+     */
+    public SeedLoader(ObjectMapper objectMapper, ResourceLoader resourceLoader,
+                      MongoTemplate mongoTemplate, SeedProperties properties) {
+        if (properties.batchSize() < 1 || properties.parallelism() < 1) {
+            throw new IllegalArgumentException("Seed batch size and parallelism must be positive");
+        }
+        this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Loads every seed whose collection is empty, several at a time, and waits for all of them.
+     *
+     * @param seeds the seeds to load
+     * @return the reports of the seeds that were loaded, in the given order
+     * @throws java.util.concurrent.CompletionException if a seed file cannot be read
+     */
+    public List<SeedReport> loadAll(List<Seed<?>> seeds) {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(properties.parallelism(), Math.max(1, seeds.size())));
+        try {
+            List<CompletableFuture<SeedReport>> loads = seeds.stream()
+                    .map(seed -> CompletableFuture.supplyAsync(() -> loadIfEmpty(seed), pool))
+                    .toList();
+            CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).join();
+            return loads.stream().map(CompletableFuture::join).filter(Objects::nonNull).toList();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Loads a seed file if its collection has no documents yet.
+     *
+     * @param seed the seed to load
+     * @param <T> the type of the records
+     * @return the report, or null if the collection already had documents or the file does not exist
+     */
+    public <T> SeedReport loadIfEmpty(Seed<T> seed) {
+        if (mongoTemplate.exists(new Query(), seed.type())) {
+            log.info("{} already has documents, skipping {}", seed.type().getSimpleName(), seed.file());
+            return null;
+        }
+        Resource resource = resolve(seed.file());
+        if (resource == null) {
+            log.warn("Seed file {} not found in {}, skipping", seed.file(), properties.location());
+            return null;
+        }
+        return load(seed, resource);
+    }
+
+    private <T> SeedReport load(Seed<T> seed, Resource resource) {
+        log.info("Loading {} from {}", seed.file(), resource.getDescription());
+        long started = System.nanoTime();
+        long records = 0;
+        long failed = 0;
+
+        ObjectReader reader = objectMapper.readerFor(seed.type());
+        try (InputStream in = open(resource); JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Seed file " + seed.file() + " is not a JSON array");
+            }
+            List<T> batch = new ArrayList<>(properties.batchSize());
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batch.add(reader.readValue(parser));
+                records++;
+                if (batch.size() == properties.batchSize()) {
+                    failed += write(seed, batch);
+                    batch = new ArrayList<>(properties.batchSize());
+                }
+                if (records % PROGRESS_INTERVAL == 0) {
+                    log.info("Loaded {} records of {} so far ({} records/s)", records, seed.file(),
+                            records * 1_000_000_000 / Math.max(1, System.nanoTime() - started));
+                }
+            }
+            if (!batch.isEmpty()) {
+                failed += write(seed, batch);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read seed file " + seed.file(), e);
+        }
+
+        SeedReport report = new SeedReport(seed.file(), records, failed, (System.nanoTime() - started) / 1_000_000);
+        log.info("Loaded {} records from {} in {} ms ({} records/s), {} rejected",
+                report.records(), report.file(), report.millis(), report.recordsPerSecond(), report.failed());
+        return report;
+    }
+
+    private <T> long write(Seed<T> seed, List<T> batch) {
+        List<BulkItemResult> results = seed.writer().apply(batch);
+        List<BulkItemResult> rejected = results.stream()
+                .filter(result -> !result.status().isSuccess())
+                .toList();
+        if (!rejected.isEmpty()) {
+            log.warn("{} records of {} were rejected, first: id={} {} {}", rejected.size(), seed.file(),
+                    rejected.get(0).id(), rejected.get(0).status(), rejected.get(0).message());
+        }
+        return rejected.size();
+    }
+
+    private Resource resolve(String file) {
+        for (String name : List.of(file, file + ".gz")) {
+            Resource resource = resourceLoader.getResource(properties.location() + name);
+            if (resource.exists()) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Opens a resource, transparently gunzipping it if it starts with the gzip magic bytes.
+     */
+    private static InputStream open(Resource resource) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(resource.getInputStream(), READ_BUFFER_SIZE);
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        if (first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >>> 8)) {
+            return new GZIPInputStream(in, READ_BUFFER_SIZE);
+        }
+        return in;
+    }
+}
@@ -0,0 +1,18 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the startup seed data load, bound from {@code game-library.seed.*}.
+ *
+ * @param location where the seed files are read from, e.g. {@code classpath:/} or {@code file:/data/seeds/}
+ * @param batchSize the number of records written per unordered bulk write
+ * @param parallelism the maximum number of seed files loaded at the same time
+ */
+@ConfigurationProperties(prefix = "game-library.seed")
+public record SeedProperties(
+        @DefaultValue("classpath:/") String location,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("4") int parallelism
+) {}
@@ -0,0 +1,15 @@
+package com.anas.gameLibrary.common;
+
+import java.time.Instant;
+
+/**
+ * Projection of the version fields of a {@link Versioned} document, used to answer
+ * conditional requests without loading the whole document.
+ *
+ * @param version the number of times the document has been written, or null if never stamped
+ * @param lastModified when the document was last written, or null if never stamped
+ */
+public record VersionStamp(
+        Long version,
+        Instant lastModified
+) implements Versioned { }
@@ -0,0 +1,35 @@
+package com.anas.gameLibrary.common;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+/**
+ * A document that carries a write counter and a last-modified timestamp.
+ * Both are maintained by MongoDB on every write (see {@link #stamp(Update)}) and
+ * back the ETag and Last-Modified headers served by {@link ConditionalResponses}.
+ * Documents written before versioning was introduced have neither and count as version 0.
+ */
+public interface Versioned {
+
+    /**
+     * @return the number of times the document has been written, or null if never stamped
+     */
+    Long version();
+
+    /**
+     * @return when the document was last written, or null if never stamped
+     */
+    Instant lastModified();
+
+    /**
+     * Adds the version increment and the last-modified timestamp to a write,
+     * so the new values are computed atomically by the server.
+     *
+     * @param update the update setting the document's own fields
+     * @return the same update, for chaining
+     */
+    static Update stamp(Update update) {
+        return update.inc("version", 1).currentDate("lastModified");
+    }
+}
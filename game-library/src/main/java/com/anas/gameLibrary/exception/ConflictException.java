@@ -0,0 +1,16 @@
+package com.anas.gameLibrary.exception;
+
+/**
+ * Thrown when a request conflicts with work already in progress, answered with 409 Conflict.
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     *
+     * @param message the reason, returned as the response body
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -3,9 +3,13 @@ package com.anas.gameLibrary.game;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PastOrPresent;
 import jakarta.validation.constraints.NotBlank;
+import com.anas.gameLibrary.common.Versioned;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 /**
@@ -13,19 +17,37 @@ import java.time.LocalDate;
  * Each game has an ID, title, genre, platform, and release date.
  * Used within the game library tracking application for managing
  * game entries across various players' collections.
+ * The compound indexes back catalog filtering by genre, platform and release date: each one
+ * is an equality prefix of genre and/or platform followed by the sort of a filtered page,
+ * {@code _id} alone, or {@code releaseDate} then {@code _id} when a release date range is set,
+ * so a page is read straight off the index whatever criteria are combined.
+ * The version and last-modified fields are managed by the database and ignored on input.
  *
  * @param id the unique identifier of the game (must not be blank)
  * @param title the name of the game (must not be blank)
  * @param genre the genre category of the game (must not be blank)
  * @param platform the platform the game runs on (e.g., PC, Xbox)
  * @param releaseDate the game's release date (must be in the past or present)
+ * @param version the number of times the game has been written, used as its ETag
+ * @param lastModified when the game was last written
  */
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "genre_platform_id", def = "{'genre': 1, 'platform': 1, '_id': 1}"),
+        @CompoundIndex(name = "genre_id", def = "{'genre': 1, '_id': 1}"),
+        @CompoundIndex(name = "platform_id", def = "{'platform': 1, '_id': 1}"),
+        @CompoundIndex(name = "genre_platform_releaseDate_id", def = "{'genre': 1, 'platform': 1, 'releaseDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "genre_releaseDate_id", def = "{'genre': 1, 'releaseDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "platform_releaseDate_id", def = "{'platform': 1, 'releaseDate': 1, '_id': 1}"),
+        @CompoundIndex(name = "releaseDate_id", def = "{'releaseDate': 1, '_id': 1}")
+})
 public record Game(
         @Id
         @NotBlank String id,
         @NotBlank String title,
         @NotBlank String genre,
         @NotNull Platform platform,
-        @PastOrPresent LocalDate releaseDate
-) { }
+        @PastOrPresent LocalDate releaseDate,
+        Long version,
+        Instant lastModified
+) implements Versioned { }
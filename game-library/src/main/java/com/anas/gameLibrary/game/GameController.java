@@ -1,13 +1,33 @@
 package com.anas.gameLibrary.game;
 
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.ConditionalResponses;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.ImportJob;
+import com.anas.gameLibrary.common.NdjsonExporter;
+import com.anas.gameLibrary.common.NdjsonImporter;
+import com.anas.gameLibrary.player.GameCollection;
+import com.anas.gameLibrary.player.GameCollectionService;
+import com.anas.gameLibrary.playerGame.CoPlayRecommender;
+import com.anas.gameLibrary.playerGame.GameStats;
+import com.anas.gameLibrary.playerGame.GameStatsService;
+import com.anas.gameLibrary.playerGame.PlayerReachEstimate;
+import com.anas.gameLibrary.playerGame.PlayerReachService;
+import com.anas.gameLibrary.playerGame.RelatedGame;
+import com.anas.gameLibrary.playerGame.TrendingGame;
+import com.anas.gameLibrary.playerGame.TrendingTracker;
+import com.anas.gameLibrary.playerGame.TrendingWindow;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -22,50 +42,291 @@ public class GameController {
     private static final Logger log = LoggerFactory.getLogger(GameController.class);
 
     private final GameService gameService;
+    private final GameFacetService gameFacetService;
+    private final GameCollectionService gameCollectionService;
+    private final GameStatsService gameStatsService;
+    private final PlayerReachService playerReachService;
+    private final TrendingTracker trendingTracker;
+    private final CoPlayRecommender coPlayRecommender;
+    private final NdjsonExporter ndjsonExporter;
+    private final NdjsonImporter ndjsonImporter;
 
 
     /**
      * Constructs a new GameController with the specified GameService.
      *
      * @param gameService the service layer for game operations
+     * @param gameFacetService the service layer for catalog facet counts
+     * @param gameCollectionService the service layer for looking up the collections containing a game
+     * @param gameStatsService the service layer for the per-game status counters
+     * @param playerReachService the service layer for the distinct-player estimates
+     * @param trendingTracker the in-memory ranking of recently started games
+     * @param coPlayRecommender the in-memory related games, computed from shared players
+     * @param ndjsonExporter writes exported games to the response
+     * @param ndjsonImporter reads imported games from the request
      */
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService, GameFacetService gameFacetService,
+                          GameCollectionService gameCollectionService, GameStatsService gameStatsService,
+                          PlayerReachService playerReachService, TrendingTracker trendingTracker, CoPlayRecommender coPlayRecommender,
+                          NdjsonExporter ndjsonExporter, NdjsonImporter ndjsonImporter) {
         this.gameService = gameService;
+        this.gameFacetService = gameFacetService;
+        this.gameCollectionService = gameCollectionService;
+        this.gameStatsService = gameStatsService;
+        this.playerReachService = playerReachService;
+        this.trendingTracker = trendingTracker;
+        this.coPlayRecommender = coPlayRecommender;
+        this.ndjsonExporter = ndjsonExporter;
+        this.ndjsonImporter = ndjsonImporter;
     }
 
     /**
-     * Retrieves all games.
+     * Retrieves a page of games ordered by ID.
      *
-     * @return a list of all games, or 204 No Content if none exist
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of games per page
+     * @return a page of games, or 204 No Content if none exist
      */
     @GetMapping
-    @Operation(summary = "Get all games", description = "Returns a list of all games")
-    public ResponseEntity<List<Game>> getAllGames() {
+    @Operation(summary = "Get all games", description = "Returns a page of games; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<Game>> getAllGames(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Received request to get all games");
 
-        List<Game> games = gameService.getAllGames();
-        return games.isEmpty()
+        CursorPage<Game> page = gameService.getGamesPage(cursor, size);
+        return page.items().isEmpty()
                 ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(games);
+                : ResponseEntity.ok(page);
     }
 
+    /**
+     * Exports all games as newline-delimited JSON, streamed from a database cursor.
+     *
+     * @param gzip whether to gzip the response body
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a streaming response with one JSON document per line
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export games", description = "Streams all games as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportGames(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = NdjsonExporter.DEFAULT_BATCH_SIZE) int batchSize) {
+        log.info("Received request to export games");
+
+        int cursorBatchSize = NdjsonExporter.clampBatchSize(batchSize);
+        return ndjsonExporter.export("games", () -> gameService.streamAllGames(cursorBatchSize), gzip);
+    }
+
+
+    /**
+     * Retrieves a page of games matching the given genre, platform and release date range,
+     * ordered by ID, or by release date then ID when a release date bound is given.
+     *
+     * @param filter the criteria to match; unset criteria are ignored
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of games per page
+     * @return a page of matching games
+     */
+    @GetMapping("/filter")
+    @Operation(summary = "Filter games", description = "Returns a page of games filtered by genre, platform and release date range")
+    public ResponseEntity<CursorPage<Game>> filterGames(
+            @ModelAttribute GameFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        log.info("Received request to filter games: {}", filter);
+
+        return ResponseEntity.ok(gameService.getFilteredGamesPage(filter, cursor, size));
+    }
+
+    /**
+     * Counts the games matching the given filter per genre, platform and release year.
+     *
+     * @param filter the criteria to match; unset criteria are ignored
+     * @return the facet counts
+     */
+    @GetMapping("/facets")
+    @Operation(summary = "Get game facets", description = "Returns the number of matching games per genre, platform and release year")
+    public ResponseEntity<GameFacets> getFacets(@ModelAttribute GameFilter filter) {
+        log.info("Received request for game facets: {}", filter);
+
+        return ResponseEntity.ok(gameFacetService.getFacets(filter));
+    }
+
+    /**
+     * Searches games by title. Served entirely from memory.
+     *
+     * @param q the free-text query
+     * @param limit the maximum number of games to return
+     * @return matching games, best match first
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Search games", description = "Returns games whose title matches the query, best match first")
+    public ResponseEntity<List<Game>> searchGames(
+            @RequestParam String q,
+            @RequestParam(defaultValue = GameSearchIndex.DEFAULT_LIMIT) int limit) {
+        log.info("Received request to search games: {}", q);
+
+        return ResponseEntity.ok(gameService.searchGames(q, limit));
+    }
+
+    /**
+     * Suggests game titles for a prefix. Served entirely from memory.
+     *
+     * @param prefix the text typed so far
+     * @param limit the maximum number of titles to return
+     * @return suggested titles, best suggestion first
+     */
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Autocomplete game titles", description = "Returns game titles that complete the given prefix")
+    public ResponseEntity<List<String>> autocompleteTitles(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = GameSearchIndex.DEFAULT_LIMIT) int limit) {
+        log.info("Received request to autocomplete game titles: {}", prefix);
+
+        return ResponseEntity.ok(gameService.autocompleteTitles(prefix, limit));
+    }
+
+    /**
+     * Lists the games players started or completed most often within a recent window.
+     * Served entirely from memory.
+     *
+     * @param window the window to rank over, {@code 1h} or {@code 1d}
+     * @param limit the maximum number of games to return
+     * @return the trending games, most starts first
+     */
+    @GetMapping("/trending")
+    @Operation(summary = "Get trending games", description = "Returns the games most often moved to PLAYING or COMPLETED in the last hour (1h) or day (1d)")
+    public ResponseEntity<List<TrendingGame>> getTrendingGames(
+            @RequestParam(defaultValue = "1h") String window,
+            @RequestParam(defaultValue = TrendingTracker.DEFAULT_LIMIT) int limit) {
+        log.info("Received request for trending games over {}", window);
+
+        return ResponseEntity.ok(trendingTracker.top(TrendingWindow.fromLabel(window), limit));
+    }
 
     /**
      * Retrieves a game by its ID.
+     * The response carries an ETag and Last-Modified; a matching If-None-Match or
+     * If-Modified-Since is answered with 304 Not Modified and no body.
      *
      * @param id the ID of the game
-     * @return the game if found, or 404 Not Found
+     * @return the game if found, 304 Not Modified if the client copy is current, or 404 Not Found
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get game by ID", description = "Returns a single game by its ID")
+    @Operation(summary = "Get game by ID", description = "Returns a single game by its ID; supports If-None-Match and If-Modified-Since")
     public ResponseEntity<Game> getGameById(@PathVariable String id) {
         log.info("Received request to get game with ID: {}", id);
 
         return gameService.getGameById(id)
-                .map(ResponseEntity::ok)
+                .map(ConditionalResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves a page of the game collections that contain a game, ordered by ID.
+     *
+     * @param id the ID of the game
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of collections per page
+     * @return a page of the collections containing the game
+     */
+    @GetMapping("/{id}/collections")
+    @Operation(summary = "Get collections containing game", description = "Returns a page of the collections that contain a game; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<GameCollection>> getCollectionsContainingGame(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        log.info("Received request to get collections containing game with ID: {}", id);
+
+        return ResponseEntity.ok(gameCollectionService.getCollectionsByGamePage(id, cursor, size));
+    }
+
+    /**
+     * Retrieves how many players have a game in each status, from precomputed counters.
+     *
+     * @param id the ID of the game
+     * @return the status counts, or 404 Not Found if the game does not exist
+     */
+    @GetMapping("/{id}/stats")
+    @Operation(summary = "Get game stats", description = "Returns the number of players per status for a game")
+    public ResponseEntity<GameStats> getGameStats(@PathVariable String id) {
+        log.info("Received request to get stats of game with ID: {}", id);
+
+        return gameStatsService.getStats(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("Game not found with ID: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    /**
+     * Estimates how many distinct players ever tracked a game, overall and per status,
+     * from in-memory HyperLogLog sketches.
+     *
+     * @param id the ID of the game
+     * @return the estimates with their relative standard error, or 404 Not Found if the game does not exist
+     */
+    @GetMapping("/{id}/players/estimate")
+    @Operation(summary = "Estimate distinct players", description = "Returns the approximate number of distinct players who ever tracked a game, overall and per status")
+    public ResponseEntity<PlayerReachEstimate> getPlayerEstimate(@PathVariable String id) {
+        log.info("Received request to estimate distinct players of game with ID: {}", id);
+
+        return playerReachService.getEstimate(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("Game not found with ID: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
+    /**
+     * Recomputes the status counters of every game from the player-game entries.
+     *
+     * @return the number of games with stats after the rebuild
+     */
+    @PostMapping("/stats/rebuild")
+    @Operation(summary = "Rebuild game stats", description = "Recomputes the per-game status counters with one aggregation")
+    public ResponseEntity<Long> rebuildGameStats() {
+        log.info("Received request to rebuild game stats");
+        return ResponseEntity.ok(gameStatsService.rebuild());
+    }
+
+    /**
+     * Retrieves the games most often tracked by the players who track a game.
+     * Served from the last co-play rebuild; entries added since then are not reflected.
+     *
+     * @param id the ID of the game
+     * @param limit the maximum number of related games to return
+     * @return the related games, most shared players first, or 404 Not Found if the game does not exist
+     */
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related games", description = "Returns the games most often tracked by the players who track this game")
+    public ResponseEntity<List<RelatedGame>> getRelatedGames(
+            @PathVariable String id,
+            @RequestParam(defaultValue = CoPlayRecommender.DEFAULT_LIMIT) int limit) {
+        log.info("Received request to get games related to game with ID: {}", id);
+
+        if (!gameService.existsGame(id)) {
+            log.warn("Game not found with ID: {}", id);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(coPlayRecommender.related(id, limit));
+    }
+
+    /**
+     * Recomputes the related games of every game from the player-game entries.
+     *
+     * @return the number of games with related games after the rebuild
+     */
+    @PostMapping("/related/rebuild")
+    @Operation(summary = "Rebuild related games", description = "Recomputes the co-play neighbours of every game in memory")
+    public ResponseEntity<Integer> rebuildRelatedGames() {
+        log.info("Received request to rebuild related games");
+        return ResponseEntity.ok(coPlayRecommender.rebuild());
+    }
+
     /**
      * Creates a new game.
      *
@@ -80,6 +341,43 @@ public class GameController {
         return ResponseEntity.ok(gameService.saveGame(game));
     }
 
+    /**
+     * Creates or updates a batch of games in one request.
+     * Each game is validated on its own, so invalid games do not block the rest.
+     *
+     * @param games the games to create or update
+     * @return the per-game results
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk create or update games", description = "Upserts a batch of games and returns a result per game")
+    public ResponseEntity<BulkResult> createGames(@RequestBody List<Game> games) {
+        log.info("Received request to bulk save {} games", games.size());
+
+        return ResponseEntity.ok(gameService.saveGames(games));
+    }
+
+    /**
+     * Imports games from a newline-delimited JSON body, upserting them in batches.
+     * Progress is checkpointed under the job ID and can be followed at {@code /api/imports/{jobId}};
+     * uploading the same body again under the ID of an interrupted job resumes it.
+     *
+     * @param jobId the ID of the job to start or resume, generated if absent
+     * @param contentEncoding {@code gzip} if the body is gzipped
+     * @param body the request body, one game per line
+     * @return the job after the import
+     */
+    @PostMapping("/import")
+    @Operation(summary = "Import games", description = "Upserts games from a streamed NDJSON body, optionally gzipped; resumable by jobId")
+    public ResponseEntity<ImportJob> importGames(
+            @RequestParam(required = false) String jobId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        log.info("Received request to import games, job {}", jobId);
+
+        return ResponseEntity.ok(ndjsonImporter.importNdjson("games", jobId, body, "gzip".equalsIgnoreCase(contentEncoding),
+                Game.class, Game::id, gameService::saveGames));
+    }
+
     /**
      * Updates an existing game by its ID.
      *
@@ -0,0 +1,48 @@
+package com.anas.gameLibrary.game;
+
+import com.anas.gameLibrary.common.EntityCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Service layer for catalog facet counts.
+ * Counts are computed by a single aggregation in {@link GameRepository} and kept
+ * in a short-lived cache per filter, so storefront pages can request them on
+ * every view without each view running the aggregation.
+ */
+@Service
+public class GameFacetService {
+    private static final Logger log = LoggerFactory.getLogger(GameFacetService.class);
+
+    private final GameRepository repository;
+    private final EntityCache<GameFacets> cache;
+
+    /**
+     * Constructs a GameFacetService.
+     *
+     * @param repository the repository used to aggregate game data
+     * @param cache the cache of facet counts by filter
+     */
+    public GameFacetService(GameRepository repository, EntityCache<GameFacets> cache) {
+        this.repository = repository;
+        this.cache = cache;
+    }
+
+    /**
+     * Counts the games matching a filter per genre, platform and release year.
+     *
+     * @param filter the criteria to match
+     * @return the facet counts
+     */
+    public GameFacets getFacets(GameFilter filter) {
+        log.info("Fetching game facets for {}", filter);
+
+        return cache.get(filter.toString(), key -> {
+            log.info("Aggregating game facets for {}", filter);
+            return Optional.of(repository.countFacets(filter));
+        }).orElseThrow();
+    }
+}
@@ -0,0 +1,18 @@
+package com.anas.gameLibrary.game;
+
+import java.util.Map;
+
+/**
+ * Number of games per facet value among the games matching a {@link GameFilter}.
+ *
+ * @param total the number of matching games
+ * @param genres matching games per genre
+ * @param platforms matching games per platform
+ * @param releaseYears matching games per release year
+ */
+public record GameFacets(
+        long total,
+        Map<String, Long> genres,
+        Map<Platform, Long> platforms,
+        Map<Integer, Long> releaseYears
+) { }
@@ -0,0 +1,81 @@
+package com.anas.gameLibrary.game;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Optional criteria for browsing the game catalog.
+ * Every criterion that is left null is ignored; the others are combined with AND.
+ * Matching games are listed by ID, or by release date then ID when a release date range is
+ * set, so that the range and the sort are served by the same index.
+ *
+ * @param genre only games of this genre
+ * @param platform only games for this platform
+ * @param releasedFrom only games released on or after this date
+ * @param releasedTo only games released on or before this date
+ */
+public record GameFilter(
+        String genre,
+        Platform platform,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate releasedTo
+) {
+
+    private static final char KEY_SEPARATOR = '|';
+
+    /**
+     * Whether matching games are listed by release date then ID rather than by ID alone.
+     *
+     * @return true if a release date bound is set
+     */
+    public boolean sortsByReleaseDate() {
+        return releasedFrom != null || releasedTo != null;
+    }
+
+    /**
+     * Builds the sort key of a game in the order this filter lists games in,
+     * to resume a listing after it.
+     *
+     * @param game a game matching this filter
+     * @return the game's ID, prefixed with its release date when listing by release date
+     */
+    public String sortKey(Game game) {
+        return sortsByReleaseDate() ? game.releaseDate() + String.valueOf(KEY_SEPARATOR) + game.id() : game.id();
+    }
+
+    /**
+     * Reads the release date from a sort key built by {@link #sortKey(Game)} while listing by release date.
+     *
+     * @param key the sort key
+     * @return the release date
+     * @throws IllegalArgumentException if the key holds no release date
+     */
+    public static LocalDate releaseDateOf(String key) {
+        int separator = key.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            return LocalDate.parse(key.substring(0, separator));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Reads the game ID from a sort key built by {@link #sortKey(Game)} while listing by release date.
+     *
+     * @param key the sort key
+     * @return the game ID
+     * @throws IllegalArgumentException if the key holds no release date
+     */
+    public static String idOf(String key) {
+        int separator = key.indexOf(KEY_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return key.substring(separator + 1);
+    }
+}
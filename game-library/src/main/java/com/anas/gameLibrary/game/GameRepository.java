@@ -1,11 +1,23 @@
 package com.anas.gameLibrary.game;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
+
 /**
  * Repository interface for accessing and managing {@link Game} entities in MongoDB.
  * Extends {@link MongoRepository} to provide basic CRUD operations.
  */
-public interface GameRepository extends MongoRepository<Game, String> {
+public interface GameRepository extends MongoRepository<Game, String>, GameRepositoryCustom {
 
+    /**
+     * Retrieves the next page of games in ID order, starting after the given ID.
+     * Uses a range predicate on {@code _id} so every page is an index seek.
+     *
+     * @param afterId the ID of the last game on the previous page ("" for the first page)
+     * @param limit the maximum number of games to return
+     * @return the games with an ID greater than {@code afterId}, in ascending ID order
+     */
+    List<Game> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
 }
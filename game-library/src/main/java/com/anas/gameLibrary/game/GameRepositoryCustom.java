@@ -0,0 +1,101 @@
+package com.anas.gameLibrary.game;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository operations for {@link Game} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link GameRepositoryCustomImpl} and mixed into {@link GameRepository}.
+ */
+public interface GameRepositoryCustom {
+
+    /**
+     * Streams every game from an open database cursor.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a lazily populated stream of all games
+     */
+    Stream<Game> streamAll(int batchSize);
+
+    /**
+     * Streams the ID of every game from an open database cursor, reading only the IDs.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of IDs fetched per cursor round trip
+     * @return a lazily populated stream of all game IDs
+     */
+    Stream<String> streamIds(int batchSize);
+
+    /**
+     * Inserts or replaces a game by ID in a single round trip,
+     * incrementing its version and stamping its last-modified time.
+     *
+     * @param game the game to write
+     * @return the game as stored after the write
+     */
+    Game upsert(Game game);
+
+    /**
+     * Overwrites the fields of an existing game in a single atomic round trip,
+     * bumping its version. Nothing is written if the game does not exist.
+     *
+     * @param id the ID of the game to update
+     * @param game the new field values; its own ID is ignored
+     * @return the game as stored after the update, or empty if it does not exist
+     */
+    Optional<Game> updateById(String id, Game game);
+
+    /**
+     * Deletes a game in a single round trip.
+     *
+     * @param id the ID of the game to delete
+     * @return true if a game was deleted, false if none had that ID
+     */
+    boolean removeById(String id);
+
+    /**
+     * Replaces games by ID, inserting the ones that do not exist yet,
+     * using unordered bulk writes. Versions are bumped as in {@link #upsert(Game)}.
+     *
+     * @param games the games to write
+     * @return one result per game, in order
+     */
+    List<BulkItemResult> upsertAll(List<Game> games);
+
+    /**
+     * Returns which of the given IDs belong to existing games, reading only the IDs.
+     *
+     * @param ids the IDs to look up
+     * @return the subset of {@code ids} that exist
+     */
+    Set<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Retrieves the next page of games matching a filter, in the order the filter lists them:
+     * by ID, or by release date then ID when it has a release date range.
+     *
+     * @param filter the criteria to match
+     * @param afterKey the {@link GameFilter#sortKey(Game) sort key} of the last game on the previous page
+     *                 ("" for the first page)
+     * @param limit the maximum number of games to return
+     * @return the matching games that sort after {@code afterKey}
+     * @throws IllegalArgumentException if {@code afterKey} was not built for this kind of filter
+     */
+    List<Game> findFiltered(GameFilter filter, String afterKey, int limit);
+
+    /**
+     * Counts the games matching a filter per genre, platform and release year
+     * with a single {@code $facet} aggregation.
+     *
+     * @param filter the criteria to match
+     * @return the facet counts
+     */
+    GameFacets countFacets(GameFilter filter);
+}
@@ -0,0 +1,190 @@
+package com.anas.gameLibrary.game;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.Versioned;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.count;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.facet;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link GameRepositoryCustom}.
+ */
+public class GameRepositoryCustomImpl implements GameRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public GameRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<Game> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), Game.class);
+    }
+
+    @Override
+    public Stream<String> streamIds(int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        query.fields().include("_id");
+
+        return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Game.class))
+                .map(document -> String.valueOf(document.get("_id")));
+    }
+
+    @Override
+    public Game upsert(Game game) {
+        return mongoTemplate.findAndModify(query(where("_id").is(game.id())), versionedUpdate(game),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Game.class);
+    }
+
+    @Override
+    public Optional<Game> updateById(String id, Game game) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query(where("_id").is(id)), versionedUpdate(game),
+                FindAndModifyOptions.options().returnNew(true), Game.class));
+    }
+
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(query(where("_id").is(id)), Game.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<BulkItemResult> upsertAll(List<Game> games) {
+        return BulkWrites.upsert(mongoTemplate, Game.class, games, Game::id, GameRepositoryCustomImpl::versionedUpdate);
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        Query query = query(where("_id").in(ids));
+        query.fields().include("_id");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Game.class)).stream()
+                .map(document -> String.valueOf(document.get("_id")))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Game> findFiltered(GameFilter filter, String afterKey, int limit) {
+        Query query;
+        if (!filter.sortsByReleaseDate()) {
+            query = query(criteria(filter).and("_id").gt(afterKey)).with(Sort.by("_id"));
+        } else if (afterKey.isEmpty()) {
+            query = query(criteria(filter)).with(Sort.by("releaseDate", "_id"));
+        } else {
+            // the plain lower bound keeps the index scan starting at the cursor; the $or only
+            // skips the games released the same day that were already listed
+            LocalDate releaseDate = GameFilter.releaseDateOf(afterKey);
+            Criteria after = new Criteria().orOperator(
+                    where("releaseDate").gt(releaseDate),
+                    where("_id").gt(GameFilter.idOf(afterKey)));
+            query = query(new Criteria().andOperator(criteria(filter), where("releaseDate").gte(releaseDate), after))
+                    .with(Sort.by("releaseDate", "_id"));
+        }
+
+        return mongoTemplate.find(query.limit(limit), Game.class);
+    }
+
+    @Override
+    public GameFacets countFacets(GameFilter filter) {
+        Aggregation aggregation = newAggregation(
+                match(criteria(filter)),
+                facet(count().as("count")).as("total")
+                        .and(group("genre").count().as("count")).as("genres")
+                        .and(group("platform").count().as("count")).as("platforms")
+                        .and(project().and("releaseDate").extractYear().as("year"),
+                                group("year").count().as("count")).as("releaseYears"));
+
+        Document result = mongoTemplate.aggregate(aggregation, Game.class, Document.class).getUniqueMappedResult();
+        if (result == null) {
+            return new GameFacets(0, Map.of(), Map.of(), Map.of());
+        }
+
+        List<Document> total = result.getList("total", Document.class);
+        return new GameFacets(
+                total.isEmpty() ? 0 : total.get(0).get("count", Number.class).longValue(),
+                counts(result, "genres", String.class::cast),
+                counts(result, "platforms", value -> Platform.valueOf((String) value)),
+                counts(result, "releaseYears", value -> ((Number) value).intValue()));
+    }
+
+    /**
+     * Translates a filter into query criteria, skipping every criterion that is not set.
+     */
+    private static Criteria criteria(GameFilter filter) {
+        Criteria criteria = new Criteria();
+        if (filter.genre() != null) {
+            criteria = criteria.and("genre").is(filter.genre());
+        }
+        if (filter.platform() != null) {
+            criteria = criteria.and("platform").is(filter.platform());
+        }
+        if (filter.releasedFrom() != null || filter.releasedTo() != null) {
+            Criteria releaseDate = criteria.and("releaseDate");
+            if (filter.releasedFrom() != null) {
+                releaseDate = releaseDate.gte(filter.releasedFrom());
+            }
+            if (filter.releasedTo() != null) {
+                releaseDate = releaseDate.lte(filter.releasedTo());
+            }
+            criteria = releaseDate;
+        }
+        return criteria;
+    }
+
+    /**
+     * Reads one facet of grouped counts into a map ordered by descending count,
+     * skipping documents without a value for the facet.
+     */
+    private static <K> Map<K, Long> counts(Document facets, String name, Function<Object, K> key) {
+        Map<K, Long> counts = new LinkedHashMap<>();
+        facets.getList(name, Document.class).stream()
+                .filter(bucket -> bucket.get("_id") != null)
+                .sorted((a, b) -> Long.compare(
+                        b.get("count", Number.class).longValue(),
+                        a.get("count", Number.class).longValue()))
+                .forEach(bucket -> counts.put(key.apply(bucket.get("_id")), bucket.get("count", Number.class).longValue()));
+        return counts;
+    }
+
+    /**
+     * Sets every field of a game except its ID and version fields, which the server maintains.
+     */
+    private static Update versionedUpdate(Game game) {
+        return Versioned.stamp(new Update()
+                .set("title", game.title())
+                .set("genre", game.genre())
+                .set("platform", game.platform())
+                .set("releaseDate", game.releaseDate()));
+    }
+}
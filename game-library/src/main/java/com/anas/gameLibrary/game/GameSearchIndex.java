@@ -0,0 +1,322 @@
+package com.anas.gameLibrary.game;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index over {@link Game} titles.
+ * Serves title search and prefix autocomplete without touching MongoDB.
+ *
+ * The index is built from {@link GameRepository} once the application is ready
+ * and is then kept current by {@link GameService}, which reports every game it
+ * writes or deletes. Titles are normalized (lower case, accents and punctuation
+ * removed) and indexed three ways:
+ * - whole words, for exact word matches,
+ * - character trigrams of each word, for typo-tolerant matches,
+ * - sorted words and full titles, for prefix lookups.
+ */
+@Component
+public class GameSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(GameSearchIndex.class);
+
+    /** Number of results returned when the client does not ask for a limit, as a request parameter default. */
+    public static final String DEFAULT_LIMIT = "10";
+
+    /** Upper bound on the number of results a client may request. */
+    public static final int MAX_LIMIT = 100;
+
+    private static final int BUILD_BATCH_SIZE = 1_000;
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.4;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final GameRepository repository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Index index = new Index();
+    private List<Consumer<Index>> pendingWrites;
+
+    /**
+     * Constructs the index on top of the given repository.
+     *
+     * @param repository the repository the index is built from
+     */
+    public GameSearchIndex(GameRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Rebuilds the index from all games in the database.
+     * Writes reported while the rebuild is running are replayed onto the new
+     * index, in the order they were reported, before it replaces the old one,
+     * so none of them are lost and a game deleted then re-created stays indexed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Building game title index");
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try (Stream<Game> games = repository.streamAll(BUILD_BATCH_SIZE)) {
+            games.forEach(fresh::put);
+        } catch (RuntimeException e) {
+            log.error("Failed to build game title index, keeping the previous one", e);
+            lock.writeLock().lock();
+            try {
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingWrites.forEach(write -> write.accept(fresh));
+            pendingWrites = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Game title index built with {} games", fresh.games.size());
+    }
+
+    /**
+     * Adds a game to the index, or re-indexes it if its title changed.
+     *
+     * @param game the game as stored in the database
+     */
+    public void put(Game game) {
+        lock.writeLock().lock();
+        try {
+            index.put(game);
+            if (pendingWrites != null) {
+                pendingWrites.add(pending -> pending.put(game));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a game from the index.
+     *
+     * @param id the ID of the deleted game
+     */
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            index.remove(id);
+            if (pendingWrites != null) {
+                pendingWrites.add(pending -> pending.remove(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Searches game titles, ranking exact word matches above fuzzy (trigram) matches
+     * and boosting titles that equal or start with the query.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of games to return
+     * @return matching games, best match first
+     */
+    public List<Game> search(String query, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        String normalizedQuery = String.join(" ", words);
+
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = new HashMap<>();
+            for (String word : words) {
+                for (String id : index.words.getOrDefault(word, Set.of())) {
+                    scores.merge(id, 1.0, Double::sum);
+                }
+
+                Set<String> grams = trigrams(word);
+                Map<String, Integer> shared = new HashMap<>();
+                for (String gram : grams) {
+                    for (String id : index.trigrams.getOrDefault(gram, Set.of())) {
+                        shared.merge(id, 1, Integer::sum);
+                    }
+                }
+                shared.forEach((id, count) -> {
+                    double similarity = (double) count / grams.size();
+                    if (similarity >= MIN_TRIGRAM_SIMILARITY) {
+                        scores.merge(id, similarity * 0.5, Double::sum);
+                    }
+                });
+            }
+
+            scores.replaceAll((id, score) -> {
+                String title = index.titles.get(id);
+                if (title.equals(normalizedQuery)) {
+                    return score + 2.0;
+                }
+                return title.startsWith(normalizedQuery) ? score + 1.0 : score;
+            });
+
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                            .thenComparing(entry -> index.titles.get(entry.getKey())))
+                    .limit(clampLimit(limit))
+                    .map(entry -> index.games.get(entry.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Suggests game titles for a prefix. Titles that start with the prefix come first,
+     * followed by titles containing a word that starts with it; shorter titles win ties.
+     *
+     * @param prefix the text typed so far
+     * @param limit the maximum number of titles to return
+     * @return suggested titles, best suggestion first
+     */
+    public List<String> autocomplete(String prefix, int limit) {
+        String normalizedPrefix = String.join(" ", tokenize(prefix));
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        String upperBound = normalizedPrefix + Character.MAX_VALUE;
+        int max = clampLimit(limit);
+
+        lock.readLock().lock();
+        try {
+            Comparator<String> byLengthThenTitle = Comparator
+                    .comparingInt((String id) -> index.titles.get(id).length())
+                    .thenComparing(id -> index.titles.get(id));
+
+            LinkedHashSet<String> suggestions = new LinkedHashSet<>();
+            index.titlePrefixes.subMap(normalizedPrefix, upperBound).values().stream()
+                    .flatMap(Set::stream)
+                    .sorted(byLengthThenTitle)
+                    .map(id -> index.games.get(id).title())
+                    .forEach(suggestions::add);
+            if (suggestions.size() < max) {
+                index.words.subMap(normalizedPrefix, upperBound).values().stream()
+                        .flatMap(Set::stream)
+                        .distinct()
+                        .sorted(byLengthThenTitle)
+                        .map(id -> index.games.get(id).title())
+                        .forEach(suggestions::add);
+            }
+            return suggestions.stream().limit(max).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    /**
+     * Lower-cases the text, strips accents and splits it into alphanumeric words.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.splitAsStream(folded.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Returns the trigrams of a word padded with '$' on both sides, so short words
+     * still produce at least one trigram and word boundaries carry weight.
+     */
+    static Set<String> trigrams(String word) {
+        String padded = "$" + word + "$";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * The index data itself. Not thread-safe; guarded by the enclosing lock.
+     */
+    private static final class Index {
+        private final Map<String, Game> games = new HashMap<>();
+        private final Map<String, String> titles = new HashMap<>();
+        private final NavigableMap<String, Set<String>> words = new TreeMap<>();
+        private final Map<String, Set<String>> trigrams = new HashMap<>();
+        private final NavigableMap<String, Set<String>> titlePrefixes = new TreeMap<>();
+
+        void put(Game game) {
+            remove(game.id());
+
+            List<String> tokens = tokenize(game.title());
+            String title = String.join(" ", tokens);
+            games.put(game.id(), game);
+            titles.put(game.id(), title);
+            titlePrefixes.computeIfAbsent(title, key -> new HashSet<>()).add(game.id());
+            for (String token : tokens) {
+                words.computeIfAbsent(token, key -> new HashSet<>()).add(game.id());
+                for (String gram : GameSearchIndex.trigrams(token)) {
+                    trigrams.computeIfAbsent(gram, key -> new HashSet<>()).add(game.id());
+                }
+            }
+        }
+
+        void remove(String id) {
+            games.remove(id);
+            String title = titles.remove(id);
+            if (title == null) {
+                return;
+            }
+            unlink(titlePrefixes, title, id);
+            for (String token : title.split(" ")) {
+                unlink(words, token, id);
+                for (String gram : GameSearchIndex.trigrams(token)) {
+                    unlink(trigrams, gram, id);
+                }
+            }
+        }
+
+        private static void unlink(Map<String, Set<String>> postings, String key, String id) {
+            Set<String> ids = postings.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+}
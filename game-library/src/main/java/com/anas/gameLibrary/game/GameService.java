@@ -1,44 +1,143 @@
 package com.anas.gameLibrary.game;
 
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.EntityCache;
+import com.anas.gameLibrary.common.IdMembershipFilter;
+import com.anas.gameLibrary.player.GameCollectionRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Service layer for managing {@link Game} entities.
  * Handles business logic and delegates data access to {@link GameRepository}.
+ * Lookups by ID are served from an {@link EntityCache}, and title searches from the
+ * {@link GameSearchIndex}; every write keeps both up to date.
+ * Existence checks are screened by an {@link IdMembershipFilter} of game IDs,
+ * loaded once the application is ready and rebuilt periodically, so unknown IDs are
+ * rejected without a query.
+ * Deleting a game also removes it from every game collection.
  */
 @Service
 public class GameService {
     private static final Logger log = LoggerFactory.getLogger(GameService.class);
 
+    private static final int ID_FILTER_BATCH_SIZE = 10_000;
+
     private final GameRepository repository;
+    private final Validator validator;
+    private final EntityCache<Game> cache;
+    private final GameSearchIndex searchIndex;
+    private final GameCollectionRepository collectionRepository;
+    private final IdMembershipFilter idFilter;
 
     /**
      * Constructs a GameService with the given GameRepository.
      *
      * @param repository the repository used to access game data
+     * @param validator the validator used to check games in bulk requests
+     * @param cache the cache of games by ID
+     * @param searchIndex the in-memory index of game titles
+     * @param collectionRepository the repository of game collections, cleaned up when a game is deleted
+     * @param idFilter the membership filter of game IDs
      */
-    public GameService(GameRepository repository) {
+    public GameService(GameRepository repository, Validator validator, EntityCache<Game> cache,
+                       GameSearchIndex searchIndex, GameCollectionRepository collectionRepository,
+                       @Qualifier("gameIdFilter") IdMembershipFilter idFilter) {
         this.repository = repository;
+        this.validator = validator;
+        this.cache = cache;
+        this.searchIndex = searchIndex;
+        this.collectionRepository = collectionRepository;
+        this.idFilter = idFilter;
+    }
+
+    /**
+     * Loads the game ID membership filter from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIdFilter() {
+        rebuildIdFilter();
+    }
+
+    /**
+     * Rebuilds the game ID membership filter periodically, so that it picks up the games
+     * written by other application instances and forgets deleted ones.
+     */
+    @Scheduled(fixedDelayString = "${game-library.cache.filter-rebuild-interval:1m}",
+            initialDelayString = "${game-library.cache.filter-rebuild-interval:1m}")
+    public void rebuildIdFilter() {
+        idFilter.rebuild(repository::count, () -> repository.streamIds(ID_FILTER_BATCH_SIZE));
+    }
+
+    /**
+     * Retrieves one page of games ordered by ID.
+     *
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of games along with the token for the next page
+     */
+    public CursorPage<Game> getGamesPage(String cursor, int size) {
+        log.info("Fetching games page, cursor={}, size={}", cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Game> games = repository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(games, pageSize, Game::id);
+    }
+
+    /**
+     * Retrieves one page of the games matching a filter, ordered by ID, or by release date
+     * then ID when the filter has a release date range.
+     * The filter and the page order are both served by the catalog indexes on {@link Game}.
+     *
+     * @param filter the criteria to match
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of matching games along with the token for the next page
+     */
+    public CursorPage<Game> getFilteredGamesPage(GameFilter filter, String cursor, int size) {
+        log.info("Fetching filtered games page for {}, cursor={}, size={}", filter, cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Game> games = repository.findFiltered(
+                filter, CursorPage.decode(cursor), CursorPage.fetchSize(pageSize));
+        return CursorPage.of(games, pageSize, filter::sortKey);
     }
 
     /**
-     * Retrieves all games from the database.
+     * Streams all games straight from a database cursor, for bulk export.
+     * The caller must close the returned stream.
      *
-     * @return a list of all games
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a stream of all games
      */
-    public List<Game> getAllGames() {
-        log.info("Fetching all games");
+    public Stream<Game> streamAllGames(int batchSize) {
+        log.info("Streaming all games with batchSize={}", batchSize);
 
-        return repository.findAll();
+        return repository.streamAll(batchSize);
     }
 
     /**
-     * Retrieves a game by its ID.
+     * Retrieves a game by its ID, from the cache when possible.
      *
      * @param id the ID of the game
      * @return an Optional containing the game if found, or empty if not
@@ -46,11 +145,66 @@ public class GameService {
     public Optional<Game> getGameById(String id) {
         log.info("Fetching game with ID: {}", id);
 
-        return repository.findById(id);
+        return cache.get(id, repository::findById);
     }
 
     /**
-     * Saves a new game to the database.
+     * Checks whether a game exists. IDs the membership filter has never seen are rejected
+     * straight away; the rest are confirmed from the cache when possible, so repeated
+     * reference checks on hot write paths skip the database.
+     *
+     * @param id the ID of the game
+     * @return true if the game exists
+     */
+    public boolean existsGame(String id) {
+        return idFilter.mightContain(id) && cache.get(id, repository::findById).isPresent();
+    }
+
+    /**
+     * Retrieves several games by ID in one batch. Cached games are served from the cache
+     * and all the others are loaded with a single query.
+     *
+     * @param ids the IDs of the games, in the order they should be returned
+     * @return the games that exist, in the order of {@code ids}
+     */
+    public List<Game> getGamesByIds(List<String> ids) {
+        log.info("Fetching {} games by ID", ids.size());
+
+        Map<String, Game> games = cache.getAll(ids, this::loadByIds);
+        return ids.stream()
+                .map(games::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Searches games by title using the in-memory index.
+     *
+     * @param query the free-text query
+     * @param limit the maximum number of games to return
+     * @return matching games, best match first
+     */
+    public List<Game> searchGames(String query, int limit) {
+        log.info("Searching games for query: {}", query);
+
+        return searchIndex.search(query, limit);
+    }
+
+    /**
+     * Suggests game titles that complete the given prefix, using the in-memory index.
+     *
+     * @param prefix the text typed so far
+     * @param limit the maximum number of titles to return
+     * @return suggested titles, best suggestion first
+     */
+    public List<String> autocompleteTitles(String prefix, int limit) {
+        log.info("Autocompleting game titles for prefix: {}", prefix);
+
+        return searchIndex.autocomplete(prefix, limit);
+    }
+
+    /**
+     * Saves a new game to the database, bumping its version if it already existed.
      *
      * @param game the game to save
      * @return the saved game
@@ -58,33 +212,69 @@ public class GameService {
     public Game saveGame(Game game) {
         log.info("Saving game: {}", game.title());
 
-        return repository.save(game);
+        Game saved = repository.upsert(game);
+        idFilter.add(saved.id());
+        cache.put(saved.id(), saved);
+        searchIndex.put(saved);
+        return saved;
+    }
+
+    /**
+     * Creates or replaces a batch of games using unordered bulk writes.
+     * Each game is validated on its own; invalid games are reported and skipped
+     * without affecting the rest of the batch. The written games are then read back
+     * with a single query, which refreshes the cache, and indexed as stored.
+     *
+     * @param games the games to save
+     * @return the per-game results
+     */
+    public BulkResult saveGames(List<Game> games) {
+        log.info("Bulk saving {} games", games.size());
+
+        BulkResult result = BulkWrites.process(games, Game::id,
+                game -> BulkWrites.describe(validator.validate(game)),
+                repository::upsertAll);
+
+        List<String> writtenIds = result.items().stream()
+                .filter(item -> item.status().isSuccess())
+                .map(BulkItemResult::id)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        idFilter.addAll(writtenIds);
+        cache.invalidateAll(writtenIds);
+        cache.getAll(writtenIds, this::loadByIds).values().forEach(searchIndex::put);
+
+        log.info("Bulk save of games finished: {} succeeded, {} failed", result.succeeded(), result.failed());
+        return result;
+    }
+
+    private Map<String, Game> loadByIds(Collection<String> ids) {
+        return repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Game::id, Function.identity()));
     }
 
     /**
-     * Updates an existing game with new data.
+     * Updates an existing game with new data in a single atomic write.
      *
      * @param id the ID of the game to update
-     * @param updatedGame the new game data
+     * @param updatedGame the new game data; its ID is ignored in favour of {@code id}
      * @return an Optional containing the updated game, or empty if not found
      */
     public Optional<Game> updateGame(String id, Game updatedGame) {
         log.info("Updating game with ID: {}", id);
 
-        return repository.findById(id).map(existing -> {
-            Game newGame = new Game(
-                    existing.id(), // keep original ID
-                    updatedGame.title(),
-                    updatedGame.genre(),
-                    updatedGame.platform(),
-                    updatedGame.releaseDate());
-            return repository.save(newGame);
+        return repository.updateById(id, updatedGame).map(saved -> {
+            cache.put(saved.id(), saved);
+            searchIndex.put(saved);
+            return saved;
         });
     }
 
 
     /**
-     * Deletes a game by its ID.
+     * Deletes a game by its ID in a single round trip, then removes it from every
+     * collection that contains it with one multi-document update.
      *
      * @param id the ID of the game to delete
      * @return true if the game was deleted, false if it was not found
@@ -92,12 +282,15 @@ public class GameService {
     public boolean deleteGame(String id) {
         log.info("Attempting to delete game with ID: {}", id);
 
-        if (!repository.existsById(id)) {
+        if (!repository.removeById(id)) {
             log.warn("Game with ID {} not found. Cannot delete.", id);
             return false;
         }
 
-        repository.deleteById(id);
+        cache.invalidate(id);
+        searchIndex.remove(id);
+        long collections = collectionRepository.removeGameFromAll(id);
+        log.info("Removed deleted game {} from {} collections", id, collections);
         return true;
     }
 }
@@ -1,24 +1,53 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.Versioned;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Represents a named collection of games owned by a specific player.
  * Used to group multiple games under a collection (e.g., Favorites, Wishlist).
+ * The version and last-modified fields are managed by the database and ignored on input.
+ * Collection names are unique per player, ignoring case: every write also stores the lower-cased
+ * name in an unmapped {@code nameKey} field, and the unique playerId_nameKey index covers it.
+ * That index also serves lookups by player.
+ * The multikey gameIds_id index answers which collections contain a game.
  *
  * @param id the unique identifier for the collection (must not be blank)
  * @param name the name of the collection (e.g., "Favorites", "Backlog")
  * @param playerId the ID of the player who owns this collection (must not be blank)
  * @param gameIds the list of game IDs included in the collection (must not be empty)
+ * @param version the number of times the collection has been written, used as its ETag
+ * @param lastModified when the collection was last written
  */
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "playerId_nameKey", def = "{'playerId': 1, 'nameKey': 1}", unique = true),
+        @CompoundIndex(name = "gameIds_id", def = "{'gameIds': 1, '_id': 1}")
+})
 public record GameCollection(
         @Id @NotBlank String id,
         @NotBlank String name,
         @NotBlank String playerId, // owner of the collection
-        @NotEmpty List<String> gameIds // list of Games IDs
-) {}
+        @NotEmpty List<String> gameIds, // list of Games IDs
+        Long version,
+        Instant lastModified
+) implements Versioned {
+
+    /**
+     * Normalizes a collection name into the key its uniqueness is checked on.
+     *
+     * @param name the collection name
+     * @return the name in lower case
+     */
+    public static String nameKeyOf(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,5 +1,10 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.ConditionalResponses;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.NdjsonExporter;
+import com.anas.gameLibrary.common.VersionStamp;
+import com.anas.gameLibrary.game.Game;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -7,6 +12,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Optional;
@@ -24,66 +31,136 @@ public class GameCollectionController {
     private static final Logger log = LoggerFactory.getLogger(GameCollectionController.class);
 
     private final GameCollectionService gameCollectionService;
+    private final NdjsonExporter ndjsonExporter;
 
     /**
      * Constructs a new GameCollectionController with the given service.
      *
      * @param gameCollectionService the service handling game collection logic
+     * @param ndjsonExporter writes exported collections to the response
      */
-    public GameCollectionController(GameCollectionService gameCollectionService) {
+    public GameCollectionController(GameCollectionService gameCollectionService, NdjsonExporter ndjsonExporter) {
         this.gameCollectionService = gameCollectionService;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     /**
-     * Handles HTTP GET requests to retrieve all game collections.
+     * Handles HTTP GET requests to retrieve a page of game collections ordered by ID.
      *
-     * @return ResponseEntity containing a list of all {@link GameCollection} entities,
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of collections per page
+     * @return ResponseEntity containing a page of {@link GameCollection} entities,
      *         or 204 No Content if no collections exist.
      */
     @GetMapping
-    @Operation(summary = "Get all collections", description = "Returns a list of all game collections")
-    public ResponseEntity<List<GameCollection>> getAllCollections() {
-        List<GameCollection> collections = gameCollectionService.getAllCollections();
-        return collections.isEmpty()
+    @Operation(summary = "Get all collections", description = "Returns a page of game collections; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<GameCollection>> getAllCollections(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        CursorPage<GameCollection> page = gameCollectionService.getCollectionsPage(cursor, size);
+        return page.items().isEmpty()
                 ? ResponseEntity.noContent().build()
-                : ResponseEntity.ok(collections);
+                : ResponseEntity.ok(page);
+    }
+
+    /**
+     * Exports all game collections as newline-delimited JSON, streamed from a database cursor.
+     *
+     * @param gzip whether to gzip the response body
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a streaming response with one JSON document per line
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export collections", description = "Streams all game collections as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportCollections(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = NdjsonExporter.DEFAULT_BATCH_SIZE) int batchSize) {
+        log.info("Exporting game collections");
+
+        int cursorBatchSize = NdjsonExporter.clampBatchSize(batchSize);
+        return ndjsonExporter.export("collections",
+                () -> gameCollectionService.streamAllCollections(cursorBatchSize), gzip);
     }
 
 
     /**
-     * Retrieves all collections belonging to a specific player.
+     * Retrieves a page of the collections belonging to a specific player, ordered by name.
      *
      * @param playerId the ID of the player
-     * @return a list of collections owned by the player
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of collections per page
+     * @return a page of collections owned by the player
      */
     @GetMapping("/player/{playerId}")
-    @Operation(summary = "Get collections for player", description = "Returns a list of all collections for a player")
-    public ResponseEntity<List<GameCollection>> getCollectionsByPlayer(@PathVariable String playerId) {
+    @Operation(summary = "Get collections for player", description = "Returns a page of a player's collections ordered by name; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<GameCollection>> getCollectionsByPlayer(
+            @PathVariable String playerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Fetching collections for player {}", playerId);
-        return ResponseEntity.ok(gameCollectionService.getCollectionsByPlayer(playerId));
+        return ResponseEntity.ok(gameCollectionService.getCollectionsByPlayerPage(playerId, cursor, size));
     }
 
     /**
      * Retrieves a specific collection by its ID.
+     * The response carries an ETag and Last-Modified. Conditional requests are checked
+     * against the collection's version first, so a 304 Not Modified never loads the games.
      *
      * @param id the ID of the collection
-     * @return the collection if found, or 404 Not Found
+     * @param request the current request, for its If-None-Match and If-Modified-Since headers
+     * @return the collection if found, 304 Not Modified if the client copy is current, or 404 Not Found
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get collection by ID", description = "Returns a single collection by its ID")
-    public ResponseEntity<GameCollection> getCollectionById(@PathVariable String id) {
+    @Operation(summary = "Get collection by ID", description = "Returns a single collection by its ID; supports If-None-Match and If-Modified-Since")
+    public ResponseEntity<GameCollection> getCollectionById(@PathVariable String id, WebRequest request) {
         log.info("Fetching collection by ID {}", id);
+        if (ConditionalResponses.isConditional(request)) {
+            Optional<VersionStamp> stamp = gameCollectionService.getVersion(id);
+            if (stamp.isEmpty()) {
+                log.warn("Collection was not found with ID: {}", id);
+                return ResponseEntity.notFound().build();
+            }
+            if (ConditionalResponses.isNotModified(request, stamp.get())) {
+                log.info("Collection with ID {} not modified", id);
+                return ConditionalResponses.notModified(stamp.get());
+            }
+        }
         Optional<GameCollection> collection = gameCollectionService.getById(id);
 
         return collection.map(gc -> {
             log.info("Collection found with ID: {}", id);
-            return ResponseEntity.ok(gc);
+            return ConditionalResponses.ok(gc);
         }).orElseGet(() -> {
             log.warn("Collection was not found with ID: {}", id);
             return ResponseEntity.notFound().build();
         });
     }
 
+    /**
+     * Retrieves one page of the games in a collection, resolved to full game documents
+     * in collection order, so clients do not have to fetch each game separately.
+     *
+     * @param id the ID of the collection
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of games per page
+     * @return a page of games, or 404 Not Found if the collection does not exist
+     */
+    @GetMapping("/{id}/games")
+    @Operation(summary = "Get games in collection", description = "Returns a page of the collection's games as full game documents, in collection order")
+    public ResponseEntity<CursorPage<Game>> getCollectionGames(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
+        log.info("Fetching games of collection {}", id);
+
+        return gameCollectionService.getCollectionGamesPage(id, cursor, size)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("Collection was not found with ID: {}", id);
+                    return ResponseEntity.notFound().build();
+                });
+    }
+
     /**
      * Creates a new game collection.
      *
@@ -117,6 +194,26 @@ public class GameCollectionController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Adds many games to a specific collection in one request.
+     *
+     * @param collectionId the ID of the collection
+     * @param gameIds the IDs of the games to add
+     * @param validate whether to reject the request if any of the games does not exist
+     * @return the updated collection or 404 Not Found
+     */
+    @PutMapping("/{collectionId}/add")
+    @Operation(summary = "Add games to collection", description = "Adds a list of games to a specific game collection in one write")
+    public ResponseEntity<GameCollection> addGamesToCollection(
+            @PathVariable String collectionId,
+            @RequestBody List<String> gameIds,
+            @RequestParam(defaultValue = "true") boolean validate) {
+
+        return gameCollectionService.addGamesToCollection(collectionId, gameIds, validate)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Removes a game from a specific collection by ID.
      *
@@ -136,6 +233,24 @@ public class GameCollectionController {
     }
 
 
+    /**
+     * Removes many games from a specific collection in one request.
+     *
+     * @param collectionId the ID of the collection
+     * @param gameIds the IDs of the games to remove
+     * @return the updated collection or 404 Not Found
+     */
+    @PutMapping("/{collectionId}/remove")
+    @Operation(summary = "Remove games from collection", description = "Removes a list of games from a specific game collection in one write")
+    public ResponseEntity<GameCollection> removeGamesFromCollection(
+            @PathVariable String collectionId,
+            @RequestBody List<String> gameIds) {
+
+        return gameCollectionService.removeGamesFromCollection(collectionId, gameIds)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     /**
      * Deletes a game collection by ID.
      *
@@ -1,21 +1,44 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.VersionStamp;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for accessing and managing {@link GameCollection} documents in MongoDB.
  * Provides methods to perform standard CRUD operations and custom queries.
  */
-public interface GameCollectionRepository extends MongoRepository<GameCollection, String> {
+public interface GameCollectionRepository extends MongoRepository<GameCollection, String>, GameCollectionRepositoryCustom {
 
     /**
-     * Finds all game collections associated with a specific player.
+     * Retrieves the next page of collections in ID order, starting after the given ID.
      *
-     * @param playerId the ID of the player
-     * @return a list of collections owned by the player
+     * @param afterId the ID of the last collection on the previous page ("" for the first page)
+     * @param limit the maximum number of collections to return
+     * @return the collections with an ID greater than {@code afterId}, in ascending ID order
      */
-    List<GameCollection> findByPlayerId(String playerId);
+    List<GameCollection> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
 
-}
\ No newline at end of file
+    /**
+     * Retrieves the next page of collections containing a game, in ID order.
+     * Served by the multikey gameIds_id index.
+     *
+     * @param gameId the ID of the game
+     * @param afterId the ID of the last collection on the previous page ("" for the first page)
+     * @param limit the maximum number of collections to return
+     * @return the collections containing the game with an ID greater than {@code afterId}, in ascending ID order
+     */
+    List<GameCollection> findByGameIdsAndIdGreaterThanOrderByIdAsc(String gameId, String afterId, Limit limit);
+
+    /**
+     * Reads only the version fields of a collection, for answering conditional requests.
+     *
+     * @param id the ID of the collection
+     * @return the version of the collection, if found
+     */
+    Optional<VersionStamp> findVersionStampById(String id);
+
+}
@@ -0,0 +1,111 @@
+package com.anas.gameLibrary.player;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository operations for {@link GameCollection} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link GameCollectionRepositoryCustomImpl} and mixed into {@link GameCollectionRepository}.
+ */
+public interface GameCollectionRepositoryCustom {
+
+    /**
+     * Streams every game collection from an open database cursor.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a lazily populated stream of all game collections
+     */
+    Stream<GameCollection> streamAll(int batchSize);
+
+    /**
+     * Inserts or replaces a game collection by ID in a single round trip,
+     * incrementing its version and stamping its last-modified time.
+     *
+     * @param collection the collection to write
+     * @return the collection as stored after the write
+     */
+    GameCollection upsert(GameCollection collection);
+
+    /**
+     * Replaces game collections by ID, inserting the ones that do not exist yet,
+     * using unordered bulk writes. Versions are bumped as in {@link #upsert(GameCollection)}.
+     *
+     * @param collections the collections to write
+     * @return one result per collection, in order
+     */
+    List<BulkItemResult> upsertAll(List<GameCollection> collections);
+
+    /**
+     * Stores the {@code nameKey} of every collection written before that field existed,
+     * with unordered bulk writes, so the unique playerId_nameKey index can be built, and
+     * drops the case-insensitive playerId_name index it replaces, if present.
+     *
+     * @return the number of collections updated
+     */
+    long migrateNameKeys();
+
+    /**
+     * Retrieves the next page of a player's collections in name key order, starting after
+     * the given key. Served entirely by the unique playerId_nameKey index.
+     *
+     * @param playerId the ID of the player
+     * @param afterNameKey the name key of the last collection on the previous page ("" for the first page)
+     * @param limit the maximum number of collections to return
+     * @return the player's collections with a name key greater than {@code afterNameKey}, in ascending name key order
+     */
+    List<GameCollection> findByPlayerIdAfterName(String playerId, String afterNameKey, int limit);
+
+    /**
+     * Reads a slice of a collection's game IDs with a {@code $slice} projection,
+     * without transferring the rest of the list.
+     *
+     * @param id the ID of the collection
+     * @param offset the position of the first game ID to read
+     * @param limit the maximum number of game IDs to read
+     * @return the game IDs in collection order, or empty if the collection does not exist
+     */
+    Optional<List<String>> findGameIdsSlice(String id, int offset, int limit);
+
+    /**
+     * Adds games to a collection with {@code $addToSet} and {@code $each}, bumping its version.
+     * Games already in the collection are skipped; nothing is written if all of them are.
+     *
+     * @param id the ID of the collection
+     * @param gameIds the IDs of the games to add, appended in this order
+     * @return the collection after the write, or empty if it does not exist or already held every game
+     */
+    Optional<GameCollection> addGames(String id, Collection<String> gameIds);
+
+    /**
+     * Removes games from a collection with {@code $pull} and {@code $in}, bumping its version.
+     * Nothing is written if none of the games is in the collection.
+     *
+     * @param id the ID of the collection
+     * @param gameIds the IDs of the games to remove
+     * @return the collection after the write, or empty if it does not exist or held none of the games
+     */
+    Optional<GameCollection> removeGames(String id, Collection<String> gameIds);
+
+    /**
+     * Deletes a game collection in a single round trip.
+     *
+     * @param id the ID of the game collection to delete
+     * @return true if a game collection was deleted, false if none had that ID
+     */
+    boolean removeById(String id);
+
+    /**
+     * Removes a game from every collection that contains it with a single multi-document
+     * {@code $pull}, bumping the version of each collection changed.
+     *
+     * @param gameId the ID of the game to remove
+     * @return the number of collections changed
+     */
+    long removeGameFromAll(String gameId);
+}
@@ -0,0 +1,146 @@
+package com.anas.gameLibrary.player;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.Versioned;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link GameCollectionRepositoryCustom}.
+ */
+public class GameCollectionRepositoryCustomImpl implements GameCollectionRepositoryCustom {
+
+    private static final String LEGACY_NAME_INDEX = "playerId_name";
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public GameCollectionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<GameCollection> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), GameCollection.class);
+    }
+
+    @Override
+    public GameCollection upsert(GameCollection collection) {
+        return mongoTemplate.findAndModify(query(where("_id").is(collection.id())), versionedUpdate(collection),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), GameCollection.class);
+    }
+
+    @Override
+    public List<BulkItemResult> upsertAll(List<GameCollection> collections) {
+        return BulkWrites.upsert(mongoTemplate, GameCollection.class, collections, GameCollection::id,
+                GameCollectionRepositoryCustomImpl::versionedUpdate);
+    }
+
+    @Override
+    public long migrateNameKeys() {
+        IndexOperations indexOps = mongoTemplate.indexOps(GameCollection.class);
+        if (indexOps.getIndexInfo().stream().anyMatch(index -> LEGACY_NAME_INDEX.equals(index.getName()))) {
+            indexOps.dropIndex(LEGACY_NAME_INDEX);
+        }
+
+        Query missing = query(where("nameKey").exists(false));
+        missing.fields().include("_id").include("name");
+        long filled = 0;
+        try (Stream<Document> documents = mongoTemplate.stream(missing, Document.class,
+                mongoTemplate.getCollectionName(GameCollection.class))) {
+            Iterator<Document> iterator = documents.iterator();
+            while (iterator.hasNext()) {
+                BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameCollection.class);
+                for (int i = 0; i < BulkWrites.CHUNK_SIZE && iterator.hasNext(); i++) {
+                    Document document = iterator.next();
+                    ops.updateOne(query(where("_id").is(document.get("_id")).and("nameKey").exists(false)),
+                            new Update().set("nameKey", GameCollection.nameKeyOf(document.getString("name"))));
+                }
+                filled += ops.execute().getModifiedCount();
+            }
+        }
+        return filled;
+    }
+
+    @Override
+    public List<GameCollection> findByPlayerIdAfterName(String playerId, String afterNameKey, int limit) {
+        Query query = query(where("playerId").is(playerId).and("nameKey").gt(afterNameKey))
+                .with(Sort.by("nameKey"))
+                .limit(limit);
+        return mongoTemplate.find(query, GameCollection.class);
+    }
+
+    @Override
+    public Optional<List<String>> findGameIdsSlice(String id, int offset, int limit) {
+        Query query = query(where("_id").is(id));
+        query.fields().include("_id").slice("gameIds", offset, limit);
+
+        Document document = mongoTemplate.findOne(query, Document.class,
+                mongoTemplate.getCollectionName(GameCollection.class));
+        return Optional.ofNullable(document).map(found -> found.getList("gameIds", String.class, List.of()));
+    }
+
+    @Override
+    public Optional<GameCollection> addGames(String id, Collection<String> gameIds) {
+        return modify(query(where("_id").is(id).and("gameIds").not().all(gameIds)),
+                new Update().addToSet("gameIds").each(gameIds.toArray()));
+    }
+
+    @Override
+    public Optional<GameCollection> removeGames(String id, Collection<String> gameIds) {
+        return modify(query(where("_id").is(id).and("gameIds").in(gameIds)),
+                new Update().pull("gameIds", new Document("$in", gameIds)));
+    }
+
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(query(where("_id").is(id)), GameCollection.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public long removeGameFromAll(String gameId) {
+        return mongoTemplate.updateMulti(query(where("gameIds").is(gameId)),
+                Versioned.stamp(new Update().pull("gameIds", gameId)), GameCollection.class).getModifiedCount();
+    }
+
+    /**
+     * Applies a membership change to the collection matched by the query and returns the new document.
+     * The query only matches when the change actually alters the collection, so no-op edits
+     * leave the version untouched.
+     */
+    private Optional<GameCollection> modify(Query query, Update update) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query, Versioned.stamp(update),
+                FindAndModifyOptions.options().returnNew(true), GameCollection.class));
+    }
+
+    /**
+     * Sets every field of a collection except its ID and version fields, which the server maintains.
+     */
+    private static Update versionedUpdate(GameCollection collection) {
+        return Versioned.stamp(new Update()
+                .set("name", collection.name())
+                .set("nameKey", GameCollection.nameKeyOf(collection.name()))
+                .set("playerId", collection.playerId())
+                .set("gameIds", collection.gameIds()));
+    }
+}
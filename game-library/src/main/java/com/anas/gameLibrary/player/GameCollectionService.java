@@ -1,56 +1,130 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.IndexMigration;
+import com.anas.gameLibrary.common.VersionStamp;
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.game.GameRepository;
+import com.anas.gameLibrary.game.GameService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing {@link GameCollection} entities.
  * Handles business logic related to creating, retrieving, updating,
  * and deleting game collections, as well as modifying their contents.
+ * As an {@link IndexMigration}, it fills in the name keys of collections stored before they existed.
  */
 @Service
-public class GameCollectionService {
+public class GameCollectionService implements IndexMigration {
     private static final Logger log = LoggerFactory.getLogger(GameCollectionService.class);
 
     private final GameCollectionRepository collectionRepository;
-    private final PlayerRepository playerRepository;
+    private final PlayerService playerService;
+    private final GameRepository gameRepository;
+    private final GameService gameService;
 
     /**
      * Constructs a GameCollectionService with the required repositories.
      *
      * @param collectionRepository the repository used to manage collections
-     * @param playerRepository the repository used to verify player existence
+     * @param playerService the service used to verify player existence
+     * @param gameRepository the repository used to verify game existence in batch edits
+     * @param gameService the service used to resolve the games of a collection
      */
-    public GameCollectionService(GameCollectionRepository collectionRepository, PlayerRepository playerRepository) {
+    public GameCollectionService(GameCollectionRepository collectionRepository, PlayerService playerService,
+                                 GameRepository gameRepository, GameService gameService) {
         this.collectionRepository = collectionRepository;
-        this.playerRepository = playerRepository;
+        this.playerService = playerService;
+        this.gameRepository = gameRepository;
+        this.gameService = gameService;
     }
 
     /**
-     * Retrieves all game collections.
+     * Stores the name key of every collection written without one, and drops the index it
+     * replaces, before the unique playerId_nameKey index is built.
+     */
+    @Override
+    public void migrate() {
+        long filled = collectionRepository.migrateNameKeys();
+        if (filled > 0) {
+            log.info("Filled in the name key of {} game collections", filled);
+        }
+    }
+
+    /**
+     * Retrieves one page of game collections ordered by ID.
+     *
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of collections along with the token for the next page
+     */
+    public CursorPage<GameCollection> getCollectionsPage(String cursor, int size) {
+        log.info("Fetching game collections page, cursor={}, size={}", cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<GameCollection> collections = collectionRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(collections, pageSize, GameCollection::id);
+    }
+
+    /**
+     * Streams all game collections straight from a database cursor, for bulk export.
+     * The caller must close the returned stream.
      *
-     * @return a list of all {@link GameCollection} entities
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a stream of all game collections
      */
-    public List<GameCollection> getAllCollections() {
-        log.info("Fetching all game collections");
-        return collectionRepository.findAll();
+    public Stream<GameCollection> streamAllCollections(int batchSize) {
+        log.info("Streaming all game collections with batchSize={}", batchSize);
+
+        return collectionRepository.streamAll(batchSize);
     }
 
     /**
-     * Retrieves all collections associated with a specific player.
+     * Retrieves one page of a player's collections ordered by name, ignoring case.
+     * The page is read from the unique playerId_nameKey index, whose name keys also
+     * serve as the cursor.
      *
      * @param playerId the ID of the player
-     * @return a list of the player's game collections
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of the player's collections along with the token for the next page
+     */
+    public CursorPage<GameCollection> getCollectionsByPlayerPage(String playerId, String cursor, int size) {
+        log.info("Fetching collections for playerId={}, cursor={}, size={}", playerId, cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<GameCollection> collections = collectionRepository.findByPlayerIdAfterName(
+                playerId, CursorPage.decode(cursor), CursorPage.fetchSize(pageSize));
+        return CursorPage.of(collections, pageSize, collection -> GameCollection.nameKeyOf(collection.name()));
+    }
+
+    /**
+     * Retrieves one page of the collections that contain a game, ordered by ID.
+     *
+     * @param gameId the ID of the game
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of collections along with the token for the next page
      */
-    public List<GameCollection> getCollectionsByPlayer(String playerId) {
-        log.info("Fetching collections for playerId={}", playerId);
+    public CursorPage<GameCollection> getCollectionsByGamePage(String gameId, String cursor, int size) {
+        log.info("Fetching collections containing gameId={}, cursor={}, size={}", gameId, cursor, size);
 
-        return collectionRepository.findByPlayerId(playerId);
+        int pageSize = CursorPage.clampSize(size);
+        List<GameCollection> collections = collectionRepository.findByGameIdsAndIdGreaterThanOrderByIdAsc(
+                gameId, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(collections, pageSize, GameCollection::id);
     }
 
     /**
@@ -65,71 +139,181 @@ public class GameCollectionService {
         return collectionRepository.findById(id);
     }
 
+    /**
+     * Retrieves one page of the games in a collection, in collection order.
+     * Only the requested slice of game IDs is read from the collection, and the
+     * games are resolved in one batch, from the game cache where possible.
+     * Games that no longer exist are left out of the page.
+     *
+     * @param id the collection ID
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of games, or empty if the collection does not exist
+     */
+    public Optional<CursorPage<Game>> getCollectionGamesPage(String id, String cursor, int size) {
+        log.info("Fetching games of collection id={}, cursor={}, size={}", id, cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        int offset = decodeOffset(cursor);
+        return collectionRepository.findGameIdsSlice(id, offset, CursorPage.fetchSize(pageSize)).map(gameIds -> {
+            boolean hasMore = gameIds.size() > pageSize;
+            List<Game> games = gameService.getGamesByIds(hasMore ? gameIds.subList(0, pageSize) : gameIds);
+            return new CursorPage<>(games, hasMore ? CursorPage.encode(String.valueOf(offset + pageSize)) : null);
+        });
+    }
+
+    /**
+     * Retrieves only the version of a collection, without loading its games.
+     *
+     * @param id the collection ID
+     * @return the version of the collection, if found
+     */
+    public Optional<VersionStamp> getVersion(String id) {
+        log.info("Fetching version of collection with id={}", id);
+
+        return collectionRepository.findVersionStampById(id);
+    }
+
     /**
      * Saves a new collection after verifying the player exists.
+     * The collection's version is bumped if it already existed.
+     * Name uniqueness, ignoring case, is enforced by the unique playerId_nameKey index on
+     * {@link GameCollection}, so no other collection of the player is read.
      *
      * @param collection the collection to save
      * @return the saved collection
-     * @throws IllegalArgumentException if the player does not exist
+     * @throws IllegalArgumentException if the player does not exist or already has a collection with that name
      */
     public GameCollection saveCollection(GameCollection collection) {
         log.info("Attempting to save collection: {}", collection.name());
 
-        if (!playerRepository.existsById(collection.playerId())) {
+        if (!playerService.existsPlayer(collection.playerId())) {
             log.warn("Cannot save collection — playerId {} does not exist", collection.playerId());
             throw new IllegalArgumentException("Player does not exist");
         }
 
-        boolean nameExists = collectionRepository.findByPlayerId(collection.playerId()).stream()
-                .anyMatch(c -> c.name().equalsIgnoreCase(collection.name()) && !c.id().equals(collection.id()));
-
-        if (nameExists) {
+        try {
+            return collectionRepository.upsert(collection);
+        } catch (DuplicateKeyException e) {
             log.warn("Collection name '{}' already exists for playerId {}", collection.name(), collection.playerId());
             throw new IllegalArgumentException("Collection name already exists for this player");
         }
-
-        return collectionRepository.save(collection);
     }
 
 
     /**
      * Adds a game to a specific collection if it's not already present.
+     * The change is applied atomically by the server, so concurrent edits are never lost.
      *
      * @param collectionId the ID of the collection
      * @param gameId the ID of the game to add
      * @return the updated collection, if found
      */
     public Optional<GameCollection> addGameToCollection(String collectionId, String gameId) {
-        return collectionRepository.findById(collectionId).map(collection -> {
-            List<String> updatedGames = new ArrayList<>(collection.gameIds());
-            if (!updatedGames.contains(gameId)) {
-                updatedGames.add(gameId);
+        log.info("Adding game {} to collection {}", gameId, collectionId);
+
+        return collectionRepository.addGames(collectionId, List.of(gameId))
+                .or(() -> collectionRepository.findById(collectionId)); // already present, unchanged
+    }
+
+    /**
+     * Adds many games to a specific collection in a single atomic write.
+     * Games already in the collection are skipped; the rest are appended in request order.
+     *
+     * @param collectionId the ID of the collection
+     * @param gameIds the IDs of the games to add
+     * @param validate whether to reject the request if any of the games does not exist
+     * @return the updated collection, if found
+     * @throws IllegalArgumentException if the IDs are blank or too many, or if validation finds unknown games
+     */
+    public Optional<GameCollection> addGamesToCollection(String collectionId, List<String> gameIds, boolean validate) {
+        log.info("Adding {} games to collection {}", gameIds.size(), collectionId);
+
+        Set<String> ids = distinctIds(gameIds);
+        if (validate) {
+            Set<String> existing = gameRepository.findExistingIds(ids);
+            List<String> unknown = ids.stream().filter(id -> !existing.contains(id)).toList();
+            if (!unknown.isEmpty()) {
+                log.warn("Cannot add {} unknown games to collection {}", unknown.size(), collectionId);
+                throw new IllegalArgumentException("Games do not exist: " + describeIds(unknown));
             }
-            GameCollection updated = new GameCollection(collection.id(), collection.playerId(), collection.name(), updatedGames);
-            return collectionRepository.save(updated);
-        });
+        }
+
+        return collectionRepository.addGames(collectionId, ids)
+                .or(() -> collectionRepository.findById(collectionId)); // all present, unchanged
     }
 
     /**
      * Removes a game from a specific collection if it exists in the list.
+     * The change is applied atomically by the server, so concurrent edits are never lost.
      *
      * @param collectionId the ID of the collection
      * @param gameId the ID of the game to remove
      * @return the updated collection, if found
      */
     public Optional<GameCollection> removeGameFromCollection(String collectionId, String gameId) {
-        return collectionRepository.findById(collectionId).map(collection -> {
-            List<String> updatedGames = new ArrayList<>(collection.gameIds());
-            if (updatedGames.remove(gameId)) {
-                GameCollection updated = new GameCollection(collection.id(), collection.playerId(), collection.name(), updatedGames);
-                return collectionRepository.save(updated);
+        log.info("Removing game {} from collection {}", gameId, collectionId);
+
+        return collectionRepository.removeGames(collectionId, List.of(gameId))
+                .or(() -> collectionRepository.findById(collectionId)); // not present, unchanged
+    }
+
+    /**
+     * Removes many games from a specific collection in a single atomic write.
+     *
+     * @param collectionId the ID of the collection
+     * @param gameIds the IDs of the games to remove
+     * @return the updated collection, if found
+     * @throws IllegalArgumentException if the IDs are blank or too many
+     */
+    public Optional<GameCollection> removeGamesFromCollection(String collectionId, List<String> gameIds) {
+        log.info("Removing {} games from collection {}", gameIds.size(), collectionId);
+
+        return collectionRepository.removeGames(collectionId, distinctIds(gameIds))
+                .or(() -> collectionRepository.findById(collectionId)); // none present, unchanged
+    }
+
+    /**
+     * Turns a collection games cursor back into a position in the game list.
+     */
+    private static int decodeOffset(String cursor) {
+        String key = CursorPage.decode(cursor);
+        if (key.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(key);
+            if (offset < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
-            return collection; // unchanged
-        });
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Checks the IDs of a batch edit and drops duplicates, keeping the first occurrence.
+     */
+    private static Set<String> distinctIds(List<String> gameIds) {
+        BulkWrites.checkSize(gameIds);
+        if (gameIds.isEmpty() || gameIds.stream().anyMatch(id -> id == null || id.isBlank())) {
+            throw new IllegalArgumentException("Game IDs must be a non-empty list of non-blank IDs");
+        }
+        return new LinkedHashSet<>(gameIds);
+    }
+
+    /**
+     * Lists the first few IDs of a rejection message, so large batches do not produce huge errors.
+     */
+    private static String describeIds(List<String> ids) {
+        int shown = Math.min(ids.size(), 10);
+        String listed = String.join(", ", ids.subList(0, shown));
+        return shown < ids.size() ? listed + " and " + (ids.size() - shown) + " more" : listed;
     }
 
     /**
-     * Deletes a collection by its ID.
+     * Deletes a collection by its ID in a single round trip.
      *
      * @param id the ID of the collection to delete
      * @return true if the collection was deleted, false if it didn't exist
@@ -137,8 +321,7 @@ public class GameCollectionService {
     public boolean deleteCollection(String id) {
         log.info("Attempting to delete collection with id={}", id);
 
-        if (collectionRepository.existsById(id)) {
-            collectionRepository.deleteById(id);
+        if (collectionRepository.removeById(id)) {
             log.info("Collection with id={} deleted", id);
             return true;
         }
@@ -1,25 +1,34 @@
 package com.anas.gameLibrary.player;
 
 
+import com.anas.gameLibrary.common.Versioned;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 /**
  * Represents a player profile in the game library system.
  * Each player has a unique ID, username, email, and date of birth.
+ * The unique username index serves lookups by username and rejects duplicate usernames.
+ * The version and last-modified fields are managed by the database and ignored on input.
  *
  * @param id the unique identifier of the player (must not be blank)
  * @param username the player's chosen username (must not be blank)
  * @param email the player's email address (must be valid and not blank)
  * @param birthDate the player's birth date (must be in the past)
+ * @param version the number of times the player has been written, used as its ETag
+ * @param lastModified when the player was last written
  */
 @Document
 public record Player(
         @Id @NotBlank String id,
-        @NotBlank String username,
+        @Indexed(name = "username", unique = true) @NotBlank String username,
         @Email @NotBlank String email,
-        @Past LocalDate birthDate
-) {}
+        @Past LocalDate birthDate,
+        Long version,
+        Instant lastModified
+) implements Versioned {}
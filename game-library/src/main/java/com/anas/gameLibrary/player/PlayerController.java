@@ -1,5 +1,9 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.ConditionalResponses;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.NdjsonExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -7,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,42 +27,69 @@ public class PlayerController {
     private static final Logger log = LoggerFactory.getLogger(PlayerController.class);
 
     private final PlayerService playerService;
+    private final NdjsonExporter ndjsonExporter;
 
     /**
      * Constructs a PlayerController with the given player service.
      *
      * @param playerService the service responsible for player operations
+     * @param ndjsonExporter writes exported players to the response
      */
-    public PlayerController(PlayerService playerService) {
+    public PlayerController(PlayerService playerService, NdjsonExporter ndjsonExporter) {
         this.playerService = playerService;
+        this.ndjsonExporter = ndjsonExporter;
     }
 
     /**
-     * Retrieves all players in the system.
+     * Retrieves a page of players ordered by ID.
      *
-     * @return a list of all player records
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of players per page
+     * @return a page of player records
      */
     @GetMapping
-    @Operation(summary = "Get all players", description = "Returns a list of all player records")
-    public ResponseEntity<List<Player>> getAllPlayers() {
+    @Operation(summary = "Get all players", description = "Returns a page of player records; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<Player>> getAllPlayers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Received request to get all players");
-        return ResponseEntity.ok(playerService.getAllPlayers());
+        return ResponseEntity.ok(playerService.getPlayersPage(cursor, size));
+    }
+
+    /**
+     * Exports all players as newline-delimited JSON, streamed from a database cursor.
+     *
+     * @param gzip whether to gzip the response body
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a streaming response with one JSON document per line
+     */
+    @GetMapping("/export")
+    @Operation(summary = "Export players", description = "Streams all players as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportPlayers(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = NdjsonExporter.DEFAULT_BATCH_SIZE) int batchSize) {
+        log.info("Received request to export players");
+
+        int cursorBatchSize = NdjsonExporter.clampBatchSize(batchSize);
+        return ndjsonExporter.export("players", () -> playerService.streamAllPlayers(cursorBatchSize), gzip);
     }
 
     /**
      * Retrieves a specific player by ID.
+     * The response carries an ETag and Last-Modified; a matching If-None-Match or
+     * If-Modified-Since is answered with 304 Not Modified and no body.
      *
      * @param id the ID of the player
-     * @return the player record if found, or 404 Not Found
+     * @return the player record if found, 304 Not Modified if the client copy is current, or 404 Not Found
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get player by ID", description = "Returns a single player record by its ID")
+    @Operation(summary = "Get player by ID", description = "Returns a single player record by its ID; supports If-None-Match and If-Modified-Since")
     public ResponseEntity<Player> getPlayerById(@PathVariable String id) {
         log.info("Received request to get player with ID: {}\"", id);
         return playerService.getPlayerById(id)
                 .map(player -> {
                     log.info("Player found: {}", player.username());
-                    return ResponseEntity.ok(player);
+                    return ConditionalResponses.ok(player);
                 })
                 .orElseGet(() -> {
                     log.warn("Player not found with ID: {}", id);
@@ -78,6 +110,20 @@ public class PlayerController {
         return ResponseEntity.ok(playerService.savePlayer(player));
     }
 
+    /**
+     * Creates or updates a batch of players in one request.
+     * Each player is validated on its own, so invalid players do not block the rest.
+     *
+     * @param players the players to create or update
+     * @return the per-player results
+     */
+    @PostMapping("/bulk")
+    @Operation(summary = "Bulk create or update players", description = "Upserts a batch of players and returns a result per player")
+    public ResponseEntity<BulkResult> createPlayers(@RequestBody List<Player> players) {
+        log.info("Received request to bulk save {} players", players.size());
+        return ResponseEntity.ok(playerService.savePlayers(players));
+    }
+
     /**
      * Updates an existing player's information.
      *
@@ -1,7 +1,9 @@
 package com.anas.gameLibrary.player;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 
@@ -9,7 +11,7 @@ import java.util.Optional;
  * Repository interface for accessing and managing {@link Player} documents in MongoDB.
  * Extends {@link MongoRepository} to provide standard CRUD operations and custom queries.
  */
-public interface PlayerRepository extends MongoRepository<Player, String> {
+public interface PlayerRepository extends MongoRepository<Player, String>, PlayerRepositoryCustom {
 
     /**
      * Finds a player by their username.
@@ -18,4 +20,13 @@ public interface PlayerRepository extends MongoRepository<Player, String> {
      * @return an Optional containing the matching Player, or empty if not found
      */
     Optional<Player> findByUsername(String username);
+
+    /**
+     * Retrieves the next page of players in ID order, starting after the given ID.
+     *
+     * @param afterId the ID of the last player on the previous page ("" for the first page)
+     * @param limit the maximum number of players to return
+     * @return the players with an ID greater than {@code afterId}, in ascending ID order
+     */
+    List<Player> findByIdGreaterThanOrderByIdAsc(String afterId, Limit limit);
 }
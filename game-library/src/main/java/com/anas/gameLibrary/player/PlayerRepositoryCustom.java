@@ -0,0 +1,88 @@
+package com.anas.gameLibrary.player;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository operations for {@link Player} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link PlayerRepositoryCustomImpl} and mixed into {@link PlayerRepository}.
+ */
+public interface PlayerRepositoryCustom {
+
+    /**
+     * Streams every player from an open database cursor.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a lazily populated stream of all players
+     */
+    Stream<Player> streamAll(int batchSize);
+
+    /**
+     * Streams the ID of every player from an open database cursor, reading only the IDs.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of IDs fetched per cursor round trip
+     * @return a lazily populated stream of all player IDs
+     */
+    Stream<String> streamIds(int batchSize);
+
+    /**
+     * Inserts or replaces a player by ID in a single round trip,
+     * incrementing its version and stamping its last-modified time.
+     *
+     * @param player the player to write
+     * @return the player as stored after the write
+     */
+    Player upsert(Player player);
+
+    /**
+     * Overwrites the fields of an existing player in a single atomic round trip,
+     * bumping its version. Nothing is written if the player does not exist.
+     *
+     * @param id the ID of the player to update
+     * @param player the new field values; its own ID is ignored
+     * @return the player as stored after the update, or empty if it does not exist
+     */
+    Optional<Player> updateById(String id, Player player);
+
+    /**
+     * Deletes a player in a single round trip.
+     *
+     * @param id the ID of the player to delete
+     * @return true if a player was deleted, false if none had that ID
+     */
+    boolean removeById(String id);
+
+    /**
+     * Replaces players by ID, inserting the ones that do not exist yet,
+     * using unordered bulk writes. Versions are bumped as in {@link #upsert(Player)}.
+     *
+     * @param players the players to write
+     * @return one result per player, in order
+     */
+    List<BulkItemResult> upsertAll(List<Player> players);
+
+    /**
+     * Returns which of the given IDs belong to existing players, reading only the IDs.
+     *
+     * @param ids the IDs to look up
+     * @return the subset of {@code ids} that exist
+     */
+    Set<String> findExistingIds(Collection<String> ids);
+
+    /**
+     * Returns which players own the given usernames, reading only the usernames and IDs.
+     *
+     * @param usernames the usernames to look up
+     * @return the ID of the player owning each of {@code usernames} that is taken, keyed by username
+     */
+    Map<String, String> findUsernameOwners(Collection<String> usernames);
+}
@@ -0,0 +1,107 @@
+package com.anas.gameLibrary.player;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.Versioned;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link PlayerRepositoryCustom}.
+ */
+public class PlayerRepositoryCustomImpl implements PlayerRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public PlayerRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<Player> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), Player.class);
+    }
+
+    @Override
+    public Stream<String> streamIds(int batchSize) {
+        Query query = new Query().cursorBatchSize(batchSize);
+        query.fields().include("_id");
+
+        return mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Player.class))
+                .map(document -> String.valueOf(document.get("_id")));
+    }
+
+    @Override
+    public Player upsert(Player player) {
+        return mongoTemplate.findAndModify(query(where("_id").is(player.id())), versionedUpdate(player),
+                FindAndModifyOptions.options().upsert(true).returnNew(true), Player.class);
+    }
+
+    @Override
+    public Optional<Player> updateById(String id, Player player) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query(where("_id").is(id)), versionedUpdate(player),
+                FindAndModifyOptions.options().returnNew(true), Player.class));
+    }
+
+    @Override
+    public boolean removeById(String id) {
+        return mongoTemplate.remove(query(where("_id").is(id)), Player.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public List<BulkItemResult> upsertAll(List<Player> players) {
+        return BulkWrites.upsert(mongoTemplate, Player.class, players, Player::id, PlayerRepositoryCustomImpl::versionedUpdate);
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        return findExisting("_id", ids);
+    }
+
+    @Override
+    public Map<String, String> findUsernameOwners(Collection<String> usernames) {
+        Query query = query(where("username").in(usernames));
+        query.fields().include("_id").include("username");
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Player.class)).stream()
+                .collect(Collectors.toMap(document -> document.getString("username"), document -> document.getString("_id")));
+    }
+
+    private Set<String> findExisting(String field, Collection<String> values) {
+        Query query = query(where(field).in(values));
+        query.fields().include(field);
+
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Player.class)).stream()
+                .map(document -> String.valueOf(document.get(field)))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Sets every field of a player except its ID and version fields, which the server maintains.
+     */
+    private static Update versionedUpdate(Player player) {
+        return Versioned.stamp(new Update()
+                .set("username", player.username())
+                .set("email", player.email())
+                .set("birthDate", player.birthDate()));
+    }
+}
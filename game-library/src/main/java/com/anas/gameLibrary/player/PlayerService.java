@@ -1,44 +1,115 @@
 package com.anas.gameLibrary.player;
 
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.EntityCache;
+import com.anas.gameLibrary.common.IdMembershipFilter;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing {@link Player} entities.
  * Handles business logic related to player creation, retrieval, update, and deletion.
+ * Lookups by ID are served from an {@link EntityCache} that every write keeps up to date,
+ * and existence checks are screened by an {@link IdMembershipFilter} of player IDs,
+ * loaded once the application is ready and rebuilt periodically, so unknown IDs are
+ * rejected without a query.
  */
 @Service
 public class PlayerService {
     private static final Logger log = LoggerFactory.getLogger(PlayerService.class);
 
+    private static final int ID_FILTER_BATCH_SIZE = 10_000;
+
     private final PlayerRepository playerRepository;
+    private final Validator validator;
+    private final EntityCache<Player> cache;
+    private final IdMembershipFilter idFilter;
 
     /**
      * Constructs a PlayerService with the given PlayerRepository.
      *
      * @param playerRepository the repository used to access player data
+     * @param validator the validator used to check players in bulk requests
+     * @param cache the cache of players by ID
+     * @param idFilter the membership filter of player IDs
      */
-    public PlayerService(PlayerRepository playerRepository) {
+    public PlayerService(PlayerRepository playerRepository, Validator validator, EntityCache<Player> cache,
+                         @Qualifier("playerIdFilter") IdMembershipFilter idFilter) {
         this.playerRepository = playerRepository;
+        this.validator = validator;
+        this.cache = cache;
+        this.idFilter = idFilter;
+    }
+
+    /**
+     * Loads the player ID membership filter from the database once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIdFilter() {
+        rebuildIdFilter();
+    }
+
+    /**
+     * Rebuilds the player ID membership filter periodically, so that it picks up the players
+     * written by other application instances and forgets deleted ones.
+     */
+    @Scheduled(fixedDelayString = "${game-library.cache.filter-rebuild-interval:1m}",
+            initialDelayString = "${game-library.cache.filter-rebuild-interval:1m}")
+    public void rebuildIdFilter() {
+        idFilter.rebuild(playerRepository::count, () -> playerRepository.streamIds(ID_FILTER_BATCH_SIZE));
+    }
+
+    /**
+     * Retrieves one page of players ordered by ID.
+     *
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of players along with the token for the next page
+     */
+    public CursorPage<Player> getPlayersPage(String cursor, int size) {
+        log.info("Fetching players page, cursor={}, size={}", cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<Player> players = playerRepository.findByIdGreaterThanOrderByIdAsc(
+                CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(players, pageSize, Player::id);
     }
 
     /**
-     * Retrieves all players.
+     * Streams all players straight from a database cursor, for bulk export.
+     * The caller must close the returned stream.
      *
-     * @return a list of all players
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a stream of all players
      */
-    public List<Player> getAllPlayers() {
-        log.info("Fetching all players");
+    public Stream<Player> streamAllPlayers(int batchSize) {
+        log.info("Streaming all players with batchSize={}", batchSize);
 
-        return playerRepository.findAll();
+        return playerRepository.streamAll(batchSize);
     }
 
     /**
-     * Retrieves a player by their ID.
+     * Retrieves a player by their ID, from the cache when possible.
      *
      * @param id the player's ID
      * @return an Optional containing the player if found, or empty if not
@@ -46,11 +117,25 @@ public class PlayerService {
     public Optional<Player> getPlayerById(String id) {
         log.info("Fetching player with id={}", id);
 
-        return playerRepository.findById(id);
+        return cache.get(id, playerRepository::findById);
+    }
+
+    /**
+     * Checks whether a player exists. IDs the membership filter has never seen are rejected
+     * straight away; the rest are confirmed from the cache when possible, so repeated
+     * reference checks on hot write paths skip the database.
+     *
+     * @param id the player's ID
+     * @return true if the player exists
+     */
+    public boolean existsPlayer(String id) {
+        return idFilter.mightContain(id) && cache.get(id, playerRepository::findById).isPresent();
     }
 
     /**
      * Saves a new player, enforcing unique username.
+     * A concurrent save of the same username is rejected by the unique username index.
+     * The player's version is bumped if it already existed.
      *
      * @param player the player to save
      * @return the saved player
@@ -64,35 +149,89 @@ public class PlayerService {
             throw new IllegalArgumentException("Username already exists");
         }
 
-        return playerRepository.save(player);
+        Player saved;
+        try {
+            saved = playerRepository.upsert(player);
+        } catch (DuplicateKeyException e) {
+            log.warn("Username '{}' is already taken", player.username());
+            throw new IllegalArgumentException("Username already exists");
+        }
+        idFilter.add(saved.id());
+        cache.put(saved.id(), saved);
+        return saved;
     }
 
     /**
-     * Updates an existing player's information.
+     * Creates or replaces a batch of players using unordered bulk writes, enforcing
+     * unique usernames both against the database and within the batch.
+     * The owners of all requested usernames are looked up in a single query; a username
+     * is only rejected when another player owns it, so existing players can be resent.
+     *
+     * @param players the players to save
+     * @return the per-player results
+     */
+    public BulkResult savePlayers(List<Player> players) {
+        log.info("Bulk saving {} players", players.size());
+        BulkWrites.checkSize(players);
+
+        Set<String> usernames = players.stream()
+                .filter(Objects::nonNull)
+                .map(Player::username)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, String> owners = usernames.isEmpty() ? Map.of() : playerRepository.findUsernameOwners(usernames);
+        Set<String> claimed = new HashSet<>();
+
+        BulkResult result = BulkWrites.process(players, Player::id, player -> {
+            String violations = BulkWrites.describe(validator.validate(player));
+            if (violations != null) {
+                return violations;
+            }
+            String owner = owners.get(player.username());
+            if ((owner != null && !owner.equals(player.id())) || !claimed.add(player.username())) {
+                return "Username already exists";
+            }
+            return null;
+        }, playerRepository::upsertAll);
+        List<String> writtenIds = result.items().stream()
+                .filter(item -> item.status().isSuccess())
+                .map(BulkItemResult::id)
+                .filter(Objects::nonNull)
+                .toList();
+        idFilter.addAll(writtenIds);
+        cache.invalidateAll(writtenIds);
+
+        log.info("Bulk save of players finished: {} succeeded, {} failed", result.succeeded(), result.failed());
+        return result;
+    }
+
+    /**
+     * Updates an existing player's information in a single atomic write.
      *
      * @param id the ID of the player to update
-     * @param updatedPlayer the new player data
+     * @param updatedPlayer the new player data; its ID is ignored in favour of {@code id}
      * @return the updated player if found, or empty if not found
+     * @throws IllegalArgumentException if another player already has the new username
      */
     public Optional<Player> updatePlayer(String id, Player updatedPlayer) {
         log.info("Attempting to update player with ID: {}", id);
 
-        return playerRepository.findById(id).map(existing -> {
-            log.info("Found player with ID: {}. Updating details.", id);
-            Player playerToSave = new Player(
-                    id,
-                    updatedPlayer.username(),
-                    updatedPlayer.email(),
-                    updatedPlayer.birthDate()
-            );
-            Player savedPlayer = playerRepository.save(playerToSave);
+        Optional<Player> updated;
+        try {
+            updated = playerRepository.updateById(id, updatedPlayer);
+        } catch (DuplicateKeyException e) {
+            log.warn("Username '{}' is already taken", updatedPlayer.username());
+            throw new IllegalArgumentException("Username already exists");
+        }
+        return updated.map(savedPlayer -> {
+            cache.put(savedPlayer.id(), savedPlayer);
             log.info("Player updated successfully: {}", savedPlayer.username());
             return savedPlayer;
         });
     }
 
     /**
-     * Deletes a player by their ID.
+     * Deletes a player by their ID in a single round trip.
      *
      * @param id the ID of the player to delete
      * @return true if deletion was successful, false if player was not found
@@ -100,8 +239,8 @@ public class PlayerService {
     public boolean deletePlayer(String id) {
         log.info("Attempting to delete player with id={}", id);
 
-        if (playerRepository.existsById(id)) {
-            playerRepository.deleteById(id);
+        if (playerRepository.removeById(id)) {
+            cache.invalidate(id);
             log.info("Player with id={} deleted", id);
             return true;
         }
@@ -0,0 +1,350 @@
+package com.anas.gameLibrary.playerGame;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * In-memory "players who tracked X also tracked Y" recommendations.
+ *
+ * {@link #rebuild()} streams the player-game entries grouped by player, counts for every
+ * pair of games how many players track both, and keeps the {@link #MAX_NEIGHBOURS} most
+ * shared games of each game. Pair counting runs on the common fork/join pool: the players
+ * are split into partitions, each partition counts its pairs into its own primitive
+ * long-to-int hash table, and the tables are merged as the tasks join.
+ *
+ * The result is held in plain arrays indexed by an int per game and replaced with a
+ * single reference swap, so {@link #related(String, int)} never touches MongoDB and never
+ * sees a half-built model. Players tracking more than {@link #MAX_GAMES_PER_PLAYER} games
+ * are left out, since their quadratic number of pairs says little about any one game.
+ */
+@Component
+public class CoPlayRecommender {
+    private static final Logger log = LoggerFactory.getLogger(CoPlayRecommender.class);
+
+    /** Number of related games returned when the client does not ask for a limit, as a request parameter default. */
+    public static final String DEFAULT_LIMIT = "10";
+
+    /** Number of related games kept per game. */
+    public static final int MAX_NEIGHBOURS = 20;
+
+    /** Largest library of a player that is still counted. */
+    public static final int MAX_GAMES_PER_PLAYER = 500;
+
+    private static final int STREAM_BATCH_SIZE = 10_000;
+    private static final int PLAYERS_PER_TASK = 1_024;
+
+    private final PlayerGameRepository playerGameRepository;
+
+    private volatile Model model = Model.EMPTY;
+
+    /**
+     * Constructs the recommender on top of the given repository.
+     *
+     * @param playerGameRepository the repository the co-occurrences are computed from
+     */
+    public CoPlayRecommender(PlayerGameRepository playerGameRepository) {
+        this.playerGameRepository = playerGameRepository;
+    }
+
+    /**
+     * Retrieves the games most often tracked by the players who track a game.
+     *
+     * @param gameId the ID of the game
+     * @param limit the maximum number of games to return
+     * @return the related games, most shared players first; empty if the game has none
+     */
+    public List<RelatedGame> related(String gameId, int limit) {
+        Model current = model;
+        Integer game = current.index().get(gameId);
+        if (game == null) {
+            return List.of();
+        }
+
+        int[] neighbours = current.neighbours()[game];
+        int[] counts = current.counts()[game];
+        int size = Math.min(neighbours.length, Math.max(1, Math.min(limit, MAX_NEIGHBOURS)));
+        List<RelatedGame> related = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            related.add(new RelatedGame(current.gameIds()[neighbours[i]], counts[i]));
+        }
+        return related;
+    }
+
+    /**
+     * Builds the recommendations once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.error("Failed to build co-play recommendations, keeping the previous ones", e);
+        }
+    }
+
+    /**
+     * Recomputes the recommendations from all player-game entries and swaps them in.
+     *
+     * @return the number of games that have related games
+     */
+    public int rebuild() {
+        log.info("Building co-play recommendations");
+        long started = System.nanoTime();
+
+        Map<String, Integer> index = new HashMap<>();
+        List<String> gameIds = new ArrayList<>();
+        List<int[]> libraries = new ArrayList<>();
+        try (Stream<PlayerGame> entries = playerGameRepository.streamLinksByPlayer(STREAM_BATCH_SIZE)) {
+            LibraryCollector collector = new LibraryCollector(index, gameIds, libraries);
+            entries.forEachOrdered(collector::accept);
+            collector.finish();
+        }
+
+        PairCounts pairs = ForkJoinPool.commonPool().invoke(new CountTask(libraries, 0, libraries.size()));
+        Model fresh = Model.of(index, gameIds.toArray(String[]::new), pairs);
+        model = fresh;
+
+        long withNeighbours = Arrays.stream(fresh.neighbours()).filter(n -> n.length > 0).count();
+        log.info("Co-play recommendations built for {} games from {} players in {} ms",
+                withNeighbours, libraries.size(), (System.nanoTime() - started) / 1_000_000);
+        return (int) withNeighbours;
+    }
+
+    /**
+     * Groups consecutive entries of the same player into an array of interned game indexes.
+     */
+    private static final class LibraryCollector {
+        private final Map<String, Integer> index;
+        private final List<String> gameIds;
+        private final List<int[]> libraries;
+        private String playerId;
+        private int[] games = new int[16];
+        private int size;
+
+        LibraryCollector(Map<String, Integer> index, List<String> gameIds, List<int[]> libraries) {
+            this.index = index;
+            this.gameIds = gameIds;
+            this.libraries = libraries;
+        }
+
+        void accept(PlayerGame entry) {
+            if (entry.playerId() == null || entry.gameId() == null) {
+                return;
+            }
+            if (!entry.playerId().equals(playerId)) {
+                finish();
+                playerId = entry.playerId();
+            }
+            Integer game = index.get(entry.gameId());
+            if (game == null) {
+                game = gameIds.size();
+                index.put(entry.gameId(), game);
+                gameIds.add(entry.gameId());
+            }
+            if (size == games.length) {
+                games = Arrays.copyOf(games, size * 2);
+            }
+            games[size++] = game;
+        }
+
+        void finish() {
+            if (size > 1 && size <= MAX_GAMES_PER_PLAYER) {
+                int[] library = Arrays.copyOf(games, size);
+                Arrays.sort(library);
+                libraries.add(library);
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * Counts the game pairs of a range of players, splitting the range until it is small enough.
+     */
+    private static final class CountTask extends RecursiveTask<PairCounts> {
+        private final List<int[]> libraries;
+        private final int from;
+        private final int to;
+
+        CountTask(List<int[]> libraries, int from, int to) {
+            this.libraries = libraries;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PairCounts compute() {
+            if (to - from <= PLAYERS_PER_TASK) {
+                PairCounts counts = new PairCounts();
+                for (int p = from; p < to; p++) {
+                    int[] library = libraries.get(p);
+                    for (int i = 0; i < library.length; i++) {
+                        for (int j = i + 1; j < library.length; j++) {
+                            if (library[i] != library[j]) {
+                                counts.add(PairCounts.key(library[i], library[j]), 1);
+                            }
+                        }
+                    }
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(libraries, from, middle);
+            left.fork();
+            PairCounts right = new CountTask(libraries, middle, to).compute();
+            return PairCounts.merge(left.join(), right);
+        }
+    }
+
+    /**
+     * Open-addressing hash table from a packed pair of game indexes to a count,
+     * avoiding a boxed key and value per pair.
+     */
+    private static final class PairCounts {
+        private static final long EMPTY = -1L;
+
+        private long[] keys = newKeys(1 << 10);
+        private int[] values = new int[1 << 10];
+        private int size;
+
+        static long key(int a, int b) {
+            return ((long) a << 32) | b;
+        }
+
+        static PairCounts merge(PairCounts a, PairCounts b) {
+            PairCounts larger = a.size >= b.size ? a : b;
+            PairCounts smaller = larger == a ? b : a;
+            for (int i = 0; i < smaller.keys.length; i++) {
+                if (smaller.keys[i] != EMPTY) {
+                    larger.add(smaller.keys[i], smaller.values[i]);
+                }
+            }
+            return larger;
+        }
+
+        void add(long key, int count) {
+            if (size * 2 >= keys.length) {
+                grow();
+            }
+            int slot = slot(key, keys.length);
+            while (keys[slot] != EMPTY && keys[slot] != key) {
+                slot = (slot + 1) & (keys.length - 1);
+            }
+            if (keys[slot] == EMPTY) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] += count;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = newKeys(oldKeys.length * 2);
+            values = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY) {
+                    int slot = slot(oldKeys[i], keys.length);
+                    while (keys[slot] != EMPTY) {
+                        slot = (slot + 1) & (keys.length - 1);
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slot(long key, int capacity) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & (capacity - 1);
+        }
+
+        private static long[] newKeys(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return keys;
+        }
+    }
+
+    /**
+     * The published recommendations: for each game index, its neighbours' indexes and
+     * shared-player counts, most shared first.
+     */
+    private record Model(Map<String, Integer> index, String[] gameIds, int[][] neighbours, int[][] counts) {
+
+        static final Model EMPTY = new Model(Map.of(), new String[0], new int[0][], new int[0][]);
+
+        static Model of(Map<String, Integer> index, String[] gameIds, PairCounts pairs) {
+            int games = gameIds.length;
+            int[][] neighbours = new int[games][MAX_NEIGHBOURS];
+            int[][] counts = new int[games][MAX_NEIGHBOURS];
+            int[] sizes = new int[games];
+
+            for (int i = 0; i < pairs.keys.length; i++) {
+                long key = pairs.keys[i];
+                if (key != PairCounts.EMPTY) {
+                    int a = (int) (key >>> 32);
+                    int b = (int) key;
+                    offer(neighbours[a], counts[a], sizes, a, b, pairs.values[i]);
+                    offer(neighbours[b], counts[b], sizes, b, a, pairs.values[i]);
+                }
+            }
+
+            for (int game = 0; game < games; game++) {
+                int size = sizes[game];
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                }
+                int[] n = neighbours[game];
+                int[] c = counts[game];
+                Arrays.sort(order, (x, y) -> c[x] != c[y]
+                        ? Integer.compare(c[y], c[x])
+                        : gameIds[n[x]].compareTo(gameIds[n[y]]));
+                int[] sortedNeighbours = new int[size];
+                int[] sortedCounts = new int[size];
+                for (int i = 0; i < size; i++) {
+                    sortedNeighbours[i] = n[order[i]];
+                    sortedCounts[i] = c[order[i]];
+                }
+                neighbours[game] = sortedNeighbours;
+                counts[game] = sortedCounts;
+            }
+            return new Model(Map.copyOf(index), gameIds, neighbours, counts);
+        }
+
+        /**
+         * Keeps a neighbour if the game has a free slot or it beats the weakest kept neighbour.
+         */
+        private static void offer(int[] neighbours, int[] counts, int[] sizes, int game, int neighbour, int count) {
+            int size = sizes[game];
+            if (size < MAX_NEIGHBOURS) {
+                neighbours[size] = neighbour;
+                counts[size] = count;
+                sizes[game] = size + 1;
+                return;
+            }
+            int weakest = 0;
+            for (int i = 1; i < size; i++) {
+                if (counts[i] < counts[weakest]) {
+                    weakest = i;
+                }
+            }
+            if (count > counts[weakest]) {
+                neighbours[weakest] = neighbour;
+                counts[weakest] = count;
+            }
+        }
+    }
+}
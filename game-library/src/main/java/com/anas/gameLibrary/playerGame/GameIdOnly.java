@@ -0,0 +1,14 @@
+package com.anas.gameLibrary.playerGame;
+
+/**
+ * Projection of a {@link PlayerGame} that reads only the game ID,
+ * along with the entry ID used as the pagination key.
+ *
+ * @param id the ID of the player-game entry
+ * @param gameId the ID of the tracked game
+ */
+public record GameIdOnly(
+        String id,
+        String gameId
+) {
+}
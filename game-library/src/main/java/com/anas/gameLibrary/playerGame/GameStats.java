@@ -0,0 +1,39 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-game counts of player-game entries by status, kept in the {@code gameStats}
+ * collection as a materialized view of {@link PlayerGame}.
+ * The counters are adjusted with {@code $inc} on every entry write, so reading them
+ * costs one lookup by ID however many players track the game, and they can be
+ * recomputed from scratch with {@link GameStatsRepositoryCustom#rebuild()}.
+ *
+ * @param gameId the ID of the game
+ * @param counts the number of entries per status
+ */
+@Document("gameStats")
+public record GameStats(
+        @Id String gameId,
+        Map<GameStatus, Long> counts
+) {
+
+    /**
+     * Returns a copy listing every status in declaration order, with 0 for statuses no entry has.
+     *
+     * @return the stats with a count for every status
+     */
+    public GameStats withAllStatuses() {
+        Map<GameStatus, Long> all = new EnumMap<>(GameStatus.class);
+        for (GameStatus status : GameStatus.values()) {
+            Long count = counts == null ? null : counts.get(status);
+            all.put(status, count == null ? 0L : count);
+        }
+        return new GameStats(gameId, all);
+    }
+}
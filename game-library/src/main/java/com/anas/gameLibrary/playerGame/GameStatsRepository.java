@@ -0,0 +1,9 @@
+package com.anas.gameLibrary.playerGame;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for the {@link GameStats} materialized view.
+ */
+public interface GameStatsRepository extends MongoRepository<GameStats, String>, GameStatsRepositoryCustom {
+}
@@ -0,0 +1,29 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+
+import java.util.Map;
+
+/**
+ * Custom repository operations for {@link GameStats} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link GameStatsRepositoryCustomImpl} and mixed into {@link GameStatsRepository}.
+ */
+public interface GameStatsRepositoryCustom {
+
+    /**
+     * Adjusts the counters of several games with one unordered bulk write of {@code $inc}
+     * upserts, creating the stats of games that have none yet.
+     *
+     * @param deltas the change of each status count, by game ID
+     */
+    void increment(Map<String, Map<GameStatus, Long>> deltas);
+
+    /**
+     * Recomputes every game's counters from the player-game entries with one aggregation
+     * whose {@code $out} stage atomically replaces the whole view.
+     *
+     * @return the number of games with stats after the rebuild
+     */
+    long rebuild();
+}
@@ -0,0 +1,70 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.out;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link GameStatsRepositoryCustom}.
+ */
+public class GameStatsRepositoryCustomImpl implements GameStatsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public GameStatsRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void increment(Map<String, Map<GameStatus, Long>> deltas) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, GameStats.class);
+        int operations = 0;
+        for (Map.Entry<String, Map<GameStatus, Long>> game : deltas.entrySet()) {
+            Update update = new Update();
+            game.getValue().forEach((status, delta) -> {
+                if (delta != 0) {
+                    update.inc("counts." + status.name(), delta);
+                }
+            });
+            if (!update.getUpdateObject().isEmpty()) {
+                ops.upsert(query(where("_id").is(game.getKey())), update);
+                operations++;
+            }
+        }
+        if (operations > 0) {
+            ops.execute();
+        }
+    }
+
+    @Override
+    public long rebuild() {
+        String statsCollection = mongoTemplate.getCollectionName(GameStats.class);
+        Aggregation aggregation = newAggregation(
+                group("gameId", "status").count().as("count"),
+                group("gameId").push(new Document("k", "$_id.status").append("v", "$count")).as("counts"),
+                project().and(ArrayOperators.ArrayToObject.arrayValueOfToObject("counts")).as("counts"),
+                out(statsCollection));
+
+        mongoTemplate.aggregate(aggregation, mongoTemplate.getCollectionName(PlayerGame.class), Document.class);
+        return mongoTemplate.count(new Query(), statsCollection);
+    }
+}
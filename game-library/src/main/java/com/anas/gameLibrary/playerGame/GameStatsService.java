@@ -0,0 +1,123 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.game.GameService;
+import com.anas.gameLibrary.player.GameStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service layer for the per-game {@link GameStats} counters.
+ * {@link PlayerGameService} reports every status transition it writes, and the counters
+ * are adjusted server-side with {@code $inc}, so no read-modify-write is involved.
+ * Counters can drift if a write fails halfway or entries are written around the service;
+ * {@link #rebuild()} recomputes them from the player-game entries.
+ */
+@Service
+public class GameStatsService {
+    private static final Logger log = LoggerFactory.getLogger(GameStatsService.class);
+
+    private final GameStatsRepository statsRepository;
+    private final PlayerGameRepository playerGameRepository;
+    private final GameService gameService;
+
+    /**
+     * Constructs a GameStatsService with the required repositories.
+     *
+     * @param statsRepository repository for the stats view
+     * @param playerGameRepository repository for player-game records, used to decide whether to rebuild on startup
+     * @param gameService service used to check that a game exists
+     */
+    public GameStatsService(GameStatsRepository statsRepository,
+                            PlayerGameRepository playerGameRepository,
+                            GameService gameService) {
+        this.statsRepository = statsRepository;
+        this.playerGameRepository = playerGameRepository;
+        this.gameService = gameService;
+    }
+
+    /**
+     * Retrieves the status counts of a game with a single lookup.
+     *
+     * @param gameId the ID of the game
+     * @return the counts of every status, all 0 if nobody tracks the game, or empty if the game does not exist
+     */
+    public Optional<GameStats> getStats(String gameId) {
+        log.info("Fetching stats for gameId={}", gameId);
+
+        if (!gameService.existsGame(gameId)) {
+            return Optional.empty();
+        }
+        return Optional.of(statsRepository.findById(gameId)
+                .orElseGet(() -> new GameStats(gameId, Map.of()))
+                .withAllStatuses());
+    }
+
+    /**
+     * Applies a batch of status transitions to the counters in one bulk write.
+     * Failures are logged rather than thrown, since the entries themselves are already
+     * written; the next {@link #rebuild()} corrects the counters.
+     *
+     * @param transitions the transitions to apply
+     */
+    public void apply(List<StatusTransition> transitions) {
+        Map<String, Map<GameStatus, Long>> deltas = new HashMap<>();
+        for (StatusTransition transition : transitions) {
+            if (transition.previous() == transition.current()) {
+                continue;
+            }
+            Map<GameStatus, Long> game = deltas.computeIfAbsent(transition.gameId(), id -> new EnumMap<>(GameStatus.class));
+            if (transition.previous() != null) {
+                game.merge(transition.previous(), -1L, Long::sum);
+            }
+            if (transition.current() != null) {
+                game.merge(transition.current(), 1L, Long::sum);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            statsRepository.increment(deltas);
+        } catch (RuntimeException e) {
+            log.error("Failed to update stats of {} games; counters are stale until the next rebuild", deltas.size(), e);
+        }
+    }
+
+    /**
+     * Recomputes all counters from the player-game entries.
+     *
+     * @return the number of games with stats after the rebuild
+     */
+    public long rebuild() {
+        log.info("Rebuilding game stats");
+
+        long games = statsRepository.rebuild();
+        log.info("Game stats rebuilt for {} games", games);
+        return games;
+    }
+
+    /**
+     * Builds the counters once the application is ready if entries exist but no stats do,
+     * e.g. after the initial data load, which writes entries without going through the service.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfMissing() {
+        try {
+            if (statsRepository.count() == 0 && playerGameRepository.count() > 0) {
+                rebuild();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to build game stats on startup", e);
+        }
+    }
+}
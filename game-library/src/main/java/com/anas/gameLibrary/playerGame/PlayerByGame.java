@@ -0,0 +1,16 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.Player;
+
+/**
+ * A player tracking a game, as joined from a {@link PlayerGame} entry.
+ * The entry ID is kept as the pagination key.
+ *
+ * @param id the ID of the player-game entry
+ * @param player the player who tracks the game, or null if the player no longer exists
+ */
+public record PlayerByGame(
+        String id,
+        Player player
+) {
+}
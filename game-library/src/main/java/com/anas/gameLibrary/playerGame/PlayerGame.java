@@ -3,11 +3,18 @@ package com.anas.gameLibrary.playerGame;
 import com.anas.gameLibrary.player.GameStatus;
 import jakarta.validation.constraints.*;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * Represents a relationship between a player and a specific game.
  * Tracks the player's progress with the game using a defined status.
+ * The playerId_status_id index serves paged lookups of a player's games by status and
+ * the gameId_id index paged lookups of the players tracking a game. The entry linking a
+ * player to a game is found by its ID, see {@link #idOf}. Bulk status changes also stamp entries
+ * with an unmapped {@code lastWriteId} field, see
+ * {@link com.anas.gameLibrary.common.BulkWrites#compareAndSet}.
  *
  * @param id the unique identifier for the player-game relationship
  * @param playerId the ID of the player who owns or is playing the game (must not be blank)
@@ -15,10 +22,25 @@ import org.springframework.data.mongodb.core.mapping.Document;
  * @param status the current status of the game for the player (must not be null)
  */
 @Document
+@CompoundIndexes({
+        @CompoundIndex(name = "playerId_status_id", def = "{'playerId': 1, 'status': 1, '_id': 1}"),
+        @CompoundIndex(name = "gameId_id", def = "{'gameId': 1, '_id': 1}")
+})
 public record PlayerGame(
         @Id String id,
         @NotBlank String playerId,
         @NotBlank String gameId,
         @NotNull GameStatus status
 ) {
+
+    /**
+     * Builds the deterministic ID of the entry linking a player to a game.
+     *
+     * @param playerId the ID of the player
+     * @param gameId the ID of the game
+     * @return the {@code playerId-gameId} ID
+     */
+    public static String idOf(String playerId, String gameId) {
+        return playerId + "-" + gameId;
+    }
 }
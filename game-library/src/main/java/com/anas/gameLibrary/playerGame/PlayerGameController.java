@@ -1,5 +1,10 @@
 package com.anas.gameLibrary.playerGame;
 
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.ImportJob;
+import com.anas.gameLibrary.common.NdjsonExporter;
+import com.anas.gameLibrary.common.NdjsonImporter;
 import com.anas.gameLibrary.player.GameStatus;
 import com.anas.gameLibrary.player.Player;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,9 +12,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -25,40 +33,76 @@ public class PlayerGameController {
     private static final Logger log = LoggerFactory.getLogger(PlayerGameController.class);
 
     private final PlayerGameService playerGameService;
+    private final NdjsonExporter ndjsonExporter;
+    private final NdjsonImporter ndjsonImporter;
 
     /**
      * Constructs a PlayerGameController with the provided service.
      *
      * @param playerGameService the service layer handling player-game logic
+     * @param ndjsonExporter writes exported player-game entries to the response
+     * @param ndjsonImporter reads imported player-game entries from the request
      */
-    public PlayerGameController(PlayerGameService playerGameService) {
+    public PlayerGameController(PlayerGameService playerGameService, NdjsonExporter ndjsonExporter,
+                                NdjsonImporter ndjsonImporter) {
         this.playerGameService = playerGameService;
+        this.ndjsonExporter = ndjsonExporter;
+        this.ndjsonImporter = ndjsonImporter;
     }
 
     /**
-     * Retrieves all games associated with a specific player.
+     * Retrieves a page of games associated with a specific player.
      *
      * @param playerId the ID of the player
-     * @return a list of {@link PlayerGame} entries for the player
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of entries per page
+     * @return a page of {@link PlayerGame} entries for the player
      */
     @GetMapping("/player/{playerId}")
-    @Operation (summary = "Get games for player", description = "Returns a list of all games for a player")
-    public ResponseEntity<List<PlayerGame>> getGamesByPlayer(@PathVariable String playerId) {
+    @Operation (summary = "Get games for player", description = "Returns a page of games for a player; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<PlayerGame>> getGamesByPlayer(
+            @PathVariable String playerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Fetching games for player {}", playerId);
-        return ResponseEntity.ok(playerGameService.getGamesByPlayer(playerId));
+        return ResponseEntity.ok(playerGameService.getGamesByPlayerPage(playerId, cursor, size));
+    }
+
+    /**
+     * Exports all player-game entries as newline-delimited JSON, streamed from a database cursor.
+     *
+     * @param gzip whether to gzip the response body
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a streaming response with one JSON document per line
+     */
+    @GetMapping("/export")
+    @Operation (summary = "Export player-game entries", description = "Streams all player-game entries as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportPlayerGames(
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(defaultValue = NdjsonExporter.DEFAULT_BATCH_SIZE) int batchSize) {
+        log.info("Exporting player-game entries");
+
+        int cursorBatchSize = NdjsonExporter.clampBatchSize(batchSize);
+        return ndjsonExporter.export("playerGames",
+                () -> playerGameService.streamAllPlayerGames(cursorBatchSize), gzip);
     }
 
     /**
-     * Retrieves all player-game entries associated with a specific game.
+     * Retrieves a page of the player-game entries associated with a specific game, ordered by ID.
      *
      * @param gameId the ID of the game
-     * @return a list of {@link PlayerGame} entries for the game
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of entries per page
+     * @return a page of {@link PlayerGame} entries for the game
      */
     @GetMapping("/game/{gameId}")
-    @Operation (summary = "Get entries for game", description = "Returns a list of all entries for a game")
-    public ResponseEntity<List<PlayerGame>> getPlayerGameEntriesByGame(@PathVariable String gameId) {
+    @Operation (summary = "Get entries for game", description = "Returns a page of entries for a game; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<PlayerGame>> getPlayerGameEntriesByGame(
+            @PathVariable String gameId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Fetching entries for game {}", gameId);
-        return ResponseEntity.ok(playerGameService.getPlayerGameEntriesByGame(gameId));
+        return ResponseEntity.ok(playerGameService.getPlayerGameEntriesByGamePage(gameId, cursor, size));
     }
 
     /**
@@ -84,32 +128,78 @@ public class PlayerGameController {
     }
 
     /**
-     * Retrieves a list of players who have played a specific game.
+     * Saves a batch of player-game entries in one request.
+     * Each entry is validated on its own, so invalid entries do not block the rest.
+     *
+     * @param playerGames the player-game entries to save
+     * @return the per-entry results
+     */
+    @PostMapping("/bulk")
+    @Operation (summary = "Bulk save player-game entries", description = "Creates a batch of player-game entries and returns a result per entry")
+    public ResponseEntity<BulkResult> savePlayerGames(@RequestBody List<PlayerGame> playerGames) {
+        log.info("Bulk saving {} player-game entries", playerGames.size());
+        return ResponseEntity.ok(playerGameService.savePlayerGames(playerGames));
+    }
+
+    /**
+     * Imports player-game entries from a newline-delimited JSON body, inserting them in batches.
+     * Progress is checkpointed under the job ID and can be followed at {@code /api/imports/{jobId}};
+     * uploading the same body again under the ID of an interrupted job resumes it.
+     *
+     * @param jobId the ID of the job to start or resume, generated if absent
+     * @param contentEncoding {@code gzip} if the body is gzipped
+     * @param body the request body, one entry per line
+     * @return the job after the import
+     */
+    @PostMapping("/import")
+    @Operation (summary = "Import player-game entries", description = "Inserts player-game entries from a streamed NDJSON body, optionally gzipped; resumable by jobId")
+    public ResponseEntity<ImportJob> importPlayerGames(
+            @RequestParam(required = false) String jobId,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        log.info("Importing player-game entries, job {}", jobId);
+
+        return ResponseEntity.ok(ndjsonImporter.importNdjson("playerGames", jobId, body,
+                "gzip".equalsIgnoreCase(contentEncoding), PlayerGame.class,
+                pg -> PlayerGame.idOf(pg.playerId(), pg.gameId()), playerGameService::savePlayerGames));
+    }
+
+    /**
+     * Retrieves a page of players who have played a specific game.
      *
      * @param gameId the ID of the game
-     * @return a list of {@link Player} entries who played the game
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of players per page
+     * @return a page of {@link Player} entries who played the game
      */
     @GetMapping("/players-by-game/{gameId}")
-    @Operation (summary = "Get players for game", description = "Returns a list of all players for a game")
-    public ResponseEntity<List<Player>> getPlayersByGame(@PathVariable String gameId) {
+    @Operation (summary = "Get players for game", description = "Returns a page of players for a game; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<Player>> getPlayersByGame(
+            @PathVariable String gameId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Fetching players who played this game {}", gameId);
-        return ResponseEntity.ok(playerGameService.getPlayersByGame(gameId));
+        return ResponseEntity.ok(playerGameService.getPlayersByGamePage(gameId, cursor, size));
     }
 
     /**
-     * Retrieves game IDs for a player filtered by status.
+     * Retrieves a page of game IDs for a player filtered by status.
      *
      * @param playerId the ID of the player
      * @param status the status to filter by
-     * @return a list of game IDs matching the given status
+     * @param cursor the continuation token returned with the previous page, if any
+     * @param size the maximum number of game IDs per page
+     * @return a page of game IDs matching the given status
      */
     @GetMapping("/status/{playerId}")
-    @Operation (summary = "Get games for player by status", description = "Returns a list of all games for a player filtered by status")
-    public ResponseEntity<List<String>> getGamesByStatus(
+    @Operation (summary = "Get games for player by status", description = "Returns a page of game IDs for a player filtered by status; pass nextCursor back as cursor to continue")
+    public ResponseEntity<CursorPage<String>> getGamesByStatus(
             @PathVariable String playerId,
-            @RequestParam GameStatus status) {
+            @RequestParam GameStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = CursorPage.DEFAULT_SIZE) int size) {
         log.info("Fetching games for player {} with status {}", playerId, status);
-        return ResponseEntity.ok(playerGameService.getGamesByStatus(playerId, status));
+        return ResponseEntity.ok(playerGameService.getGamesByStatusPage(playerId, status, cursor, size));
     }
 
     /**
@@ -139,6 +229,20 @@ public class PlayerGameController {
                 });
     }
 
+    /**
+     * Updates the status of many player-game entries in one request.
+     * Each change is validated on its own, and entries that do not exist are reported as not found.
+     *
+     * @param updates the status changes to apply
+     * @return the per-change results
+     */
+    @PutMapping("/status/bulk")
+    @Operation (summary = "Bulk update statuses", description = "Updates the status of a batch of player-game entries and returns a result per change")
+    public ResponseEntity<BulkResult> updateStatuses(@RequestBody List<StatusUpdate> updates) {
+        log.info("Bulk updating {} player-game statuses", updates.size());
+        return ResponseEntity.ok(playerGameService.updateStatuses(updates));
+    }
+
     /**
      * Deletes a player-game entry by ID.
      *
@@ -1,38 +1,49 @@
 package com.anas.gameLibrary.playerGame;
 
+import com.anas.gameLibrary.player.GameStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
-import java.util.Optional;
 
 /**
  * Repository interface for accessing and managing {@link PlayerGame} documents in MongoDB.
  * Provides standard CRUD operations and custom queries for player-game relationships.
  */
-public interface PlayerGameRepository extends MongoRepository<PlayerGame, String> {
+public interface PlayerGameRepository extends MongoRepository<PlayerGame, String>, PlayerGameRepositoryCustom {
 
     /**
-     * Retrieves all PlayerGame records for a given player.
+     * Retrieves the next page of a player's PlayerGame records in ID order,
+     * starting after the given ID.
      *
      * @param playerId the ID of the player
-     * @return a list of PlayerGame records associated with the player
+     * @param afterId the ID of the last record on the previous page ("" for the first page)
+     * @param limit the maximum number of records to return
+     * @return the player's records with an ID greater than {@code afterId}, in ascending ID order
      */
-    List<PlayerGame> findByPlayerId(String playerId);
+    List<PlayerGame> findByPlayerIdAndIdGreaterThanOrderByIdAsc(String playerId, String afterId, Limit limit);
 
     /**
-     * Retrieves all PlayerGame records for a given game.
+     * Retrieves the next page of a player's game IDs with the given status, in entry ID order.
+     * Served entirely by the playerId_status_id index, and only the game IDs are read.
      *
-     * @param gameId the ID of the game
-     * @return a list of PlayerGame records associated with the game
+     * @param playerId the ID of the player
+     * @param status the status to match
+     * @param afterId the ID of the last entry on the previous page ("" for the first page)
+     * @param limit the maximum number of entries to return
+     * @return the matching entries with an ID greater than {@code afterId}, in ascending ID order
      */
-    List<PlayerGame> findByGameId(String gameId);
+    List<GameIdOnly> findByPlayerIdAndStatusAndIdGreaterThanOrderByIdAsc(String playerId, GameStatus status,
+                                                                         String afterId, Limit limit);
 
     /**
-     * Retrieves a specific PlayerGame record by player ID and game ID.
+     * Retrieves the next page of a game's PlayerGame records in ID order,
+     * starting after the given ID. Served by the gameId_id index.
      *
-     * @param playerId the ID of the player
      * @param gameId the ID of the game
-     * @return an Optional containing the PlayerGame if found, or empty if not
+     * @param afterId the ID of the last record on the previous page ("" for the first page)
+     * @param limit the maximum number of records to return
+     * @return the game's records with an ID greater than {@code afterId}, in ascending ID order
      */
-    Optional<PlayerGame> findByPlayerIdAndGameId(String playerId, String gameId);
+    List<PlayerGame> findByGameIdAndIdGreaterThanOrderByIdAsc(String gameId, String afterId, Limit limit);
 }
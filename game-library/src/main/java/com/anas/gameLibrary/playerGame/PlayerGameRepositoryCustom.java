@@ -0,0 +1,88 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.player.GameStatus;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Custom repository operations for {@link PlayerGame} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link PlayerGameRepositoryCustomImpl} and mixed into {@link PlayerGameRepository}.
+ */
+public interface PlayerGameRepositoryCustom {
+
+    /**
+     * Streams every player-game entry from an open database cursor.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a lazily populated stream of all player-game entries
+     */
+    Stream<PlayerGame> streamAll(int batchSize);
+
+    /**
+     * Streams every player-game entry ordered by player ID, reading only the player and
+     * game IDs, so each player's entries arrive together. The sort is served by the
+     * playerId_status_id index. The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of entries fetched per cursor round trip
+     * @return a lazily populated stream of entries with only {@code playerId} and {@code gameId} set
+     */
+    Stream<PlayerGame> streamLinksByPlayer(int batchSize);
+
+    /**
+     * Inserts player-game entries using unordered bulk writes.
+     * Entries whose ID already exists are reported as duplicates and left untouched.
+     *
+     * @param entries the entries to insert
+     * @return one result per entry, in order
+     */
+    List<BulkItemResult> insertAll(List<PlayerGame> entries);
+
+    /**
+     * Sets the status of player-game entries using unordered bulk writes, each keyed by the
+     * entry's deterministic ID and applied only if the entry still has the status it was read with.
+     * An entry whose status has changed since is reported as
+     * {@link com.anas.gameLibrary.common.BulkItemStatus#CONFLICT} and left untouched; an entry
+     * deleted since is reported as {@link com.anas.gameLibrary.common.BulkItemStatus#NOT_FOUND}
+     * and never re-created.
+     *
+     * @param changes the status changes to apply, from the status each entry was read with
+     * @return one result per change, in order
+     */
+    List<BulkItemResult> compareAndSetStatuses(List<StatusTransition> changes);
+
+    /**
+     * Retrieves the next page of players tracking a game with one aggregation:
+     * the game's entries are matched and paged on the gameId_id index, and only
+     * the entries of that page are joined to their players with {@code $lookup}.
+     * Entries whose player no longer exists are kept, with a null player, so that the
+     * number of rows and the last entry ID reflect every entry scanned.
+     *
+     * @param gameId the ID of the game
+     * @param afterId the ID of the last entry on the previous page ("" for the first page)
+     * @param limit the maximum number of entries to return
+     * @return the entries with their players, in ascending entry ID order
+     */
+    List<PlayerByGame> findPlayersByGame(String gameId, String afterId, int limit);
+
+    /**
+     * Sets the status of a player-game entry in a single atomic write.
+     *
+     * @param id the ID of the player-game entry
+     * @param status the new status
+     * @return the entry as it was before the update, or empty if none had that ID
+     */
+    Optional<PlayerGame> updateStatusById(String id, GameStatus status);
+
+    /**
+     * Deletes a player-game entry in a single round trip.
+     *
+     * @param id the ID of the player-game entry to delete
+     * @return the deleted entry, or empty if none had that ID
+     */
+    Optional<PlayerGame> findAndRemoveById(String id);
+}
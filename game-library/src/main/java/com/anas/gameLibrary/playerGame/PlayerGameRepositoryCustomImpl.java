@@ -0,0 +1,92 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.player.Player;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.lookup;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link PlayerGameRepositoryCustom}.
+ */
+public class PlayerGameRepositoryCustomImpl implements PlayerGameRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public PlayerGameRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<PlayerGame> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), PlayerGame.class);
+    }
+
+    @Override
+    public Stream<PlayerGame> streamLinksByPlayer(int batchSize) {
+        Query query = new Query().with(Sort.by("playerId")).cursorBatchSize(batchSize);
+        query.fields().include("playerId").include("gameId");
+
+        return mongoTemplate.stream(query, PlayerGame.class);
+    }
+
+    @Override
+    public List<BulkItemResult> insertAll(List<PlayerGame> entries) {
+        return BulkWrites.insert(mongoTemplate, PlayerGame.class, entries, PlayerGame::id);
+    }
+
+    @Override
+    public List<BulkItemResult> compareAndSetStatuses(List<StatusTransition> changes) {
+        return BulkWrites.compareAndSet(mongoTemplate, PlayerGame.class, changes,
+                change -> PlayerGame.idOf(change.playerId(), change.gameId()),
+                change -> where("status").is(change.previous()),
+                change -> new Update().set("status", change.current()));
+    }
+
+    @Override
+    public List<PlayerByGame> findPlayersByGame(String gameId, String afterId, int limit) {
+        Aggregation aggregation = newAggregation(
+                match(where("gameId").is(gameId).and("_id").gt(afterId)),
+                sort(Sort.by("id")),
+                limit(limit),
+                lookup(mongoTemplate.getCollectionName(Player.class), "playerId", "_id", "player"),
+                unwind("player", true),
+                project("player"));
+
+        return mongoTemplate.aggregate(aggregation, PlayerGame.class, PlayerByGame.class).getMappedResults();
+    }
+
+    @Override
+    public Optional<PlayerGame> updateStatusById(String id, GameStatus status) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(query(where("_id").is(id)),
+                new Update().set("status", status), PlayerGame.class));
+    }
+
+    @Override
+    public Optional<PlayerGame> findAndRemoveById(String id) {
+        return Optional.ofNullable(mongoTemplate.findAndRemove(query(where("_id").is(id)), PlayerGame.class));
+    }
+}
@@ -1,28 +1,59 @@
 package com.anas.gameLibrary.playerGame;
 
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.BulkWrites;
+import com.anas.gameLibrary.common.CursorPage;
 import com.anas.gameLibrary.game.GameRepository;
+import com.anas.gameLibrary.game.GameService;
 import com.anas.gameLibrary.player.GameStatus;
 import com.anas.gameLibrary.player.Player;
 import com.anas.gameLibrary.player.PlayerRepository;
+import com.anas.gameLibrary.player.PlayerService;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 /**
  * Service layer for managing {@link PlayerGame} entities.
  * Handles business logic related to tracking a player's game progress,
  * enforcing uniqueness, verifying existence of players and games, and updating statuses.
+ * Every created, re-statused or deleted entry is reported to the derived views through
+ * {@link #onStatusChange(List)}.
  */
 @Service
 public class PlayerGameService {
     private static final Logger log = LoggerFactory.getLogger(PlayerGameService.class);
 
+    /** Number of times a bulk status change is attempted before it is reported as a conflict. */
+    public static final int MAX_STATUS_ATTEMPTS = 3;
+
     private final PlayerGameRepository playerGameRepository;
     private final PlayerRepository playerRepository;
     private final GameRepository gameRepository;
+    private final PlayerService playerService;
+    private final GameService gameService;
+    private final GameStatsService statsService;
+    private final TrendingTracker trendingTracker;
+    private final PlayerReachService reachService;
+    private final Validator validator;
 
     /**
      * Constructs a PlayerGameService with the required repositories.
@@ -30,102 +61,200 @@ public class PlayerGameService {
      * @param playerGameRepository repository for player-game records
      * @param playerRepository repository for player records
      * @param gameRepository repository for game records
+     * @param playerService service used for cached player existence checks
+     * @param gameService service used for cached game existence checks
+     * @param statsService service maintaining the per-game status counters
+     * @param trendingTracker in-memory tracker of recently started games
+     * @param reachService service maintaining the distinct-player sketches
+     * @param validator the validator used to check entries in bulk requests
      */
     public PlayerGameService(PlayerGameRepository playerGameRepository,
                              PlayerRepository playerRepository,
-                             GameRepository gameRepository) {
+                             GameRepository gameRepository,
+                             PlayerService playerService,
+                             GameService gameService,
+                             GameStatsService statsService,
+                             TrendingTracker trendingTracker,
+                             PlayerReachService reachService,
+                             Validator validator) {
         this.playerGameRepository = playerGameRepository;
         this.playerRepository = playerRepository;
         this.gameRepository = gameRepository;
+        this.playerService = playerService;
+        this.gameService = gameService;
+        this.statsService = statsService;
+        this.trendingTracker = trendingTracker;
+        this.reachService = reachService;
+        this.validator = validator;
     }
 
     /**
-     * Retrieves all PlayerGame entries for a specific player.
+     * Retrieves one page of a player's PlayerGame entries ordered by ID.
      *
      * @param playerId the ID of the player
-     * @return a list of PlayerGame entries
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of PlayerGame entries along with the token for the next page
+     */
+    public CursorPage<PlayerGame> getGamesByPlayerPage(String playerId, String cursor, int size) {
+        log.info("Fetching games page for playerId={}, cursor={}, size={}", playerId, cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<PlayerGame> entries = playerGameRepository.findByPlayerIdAndIdGreaterThanOrderByIdAsc(
+                playerId, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(entries, pageSize, PlayerGame::id);
+    }
+
+    /**
+     * Streams all player-game entries straight from a database cursor, for bulk export.
+     * The caller must close the returned stream.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a stream of all player-game entries
      */
-    public List<PlayerGame> getGamesByPlayer(String playerId) {
-        log.info("Fetching games for playerId={}", playerId);
-        return playerGameRepository.findByPlayerId(playerId);
+    public Stream<PlayerGame> streamAllPlayerGames(int batchSize) {
+        log.info("Streaming all player-game entries with batchSize={}", batchSize);
+
+        return playerGameRepository.streamAll(batchSize);
     }
 
     /**
-     * Retrieves all PlayerGame entries associated with a specific game.
+     * Retrieves one page of the PlayerGame entries associated with a specific game, ordered by ID.
      *
      * @param gameId the ID of the game
-     * @return a list of PlayerGame entries
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of PlayerGame entries along with the token for the next page
      */
-    public List<PlayerGame> getPlayerGameEntriesByGame(String gameId) {
-        log.info("Fetching player-game entries for gameId={}", gameId);
-        return playerGameRepository.findByGameId(gameId);
+    public CursorPage<PlayerGame> getPlayerGameEntriesByGamePage(String gameId, String cursor, int size) {
+        log.info("Fetching player-game entries for gameId={}, cursor={}, size={}", gameId, cursor, size);
+
+        int pageSize = CursorPage.clampSize(size);
+        List<PlayerGame> entries = playerGameRepository.findByGameIdAndIdGreaterThanOrderByIdAsc(
+                gameId, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(entries, pageSize, PlayerGame::id);
     }
 
     /**
-     * Saves a new PlayerGame entry after verifying player and game existence
-     * and ensuring no duplicate entry exists.
+     * Saves a new PlayerGame entry after verifying player and game existence.
+     * Both checks are served from the entity caches when possible, and duplicates are
+     * detected by the unique {@code playerId-gameId} ID on insert, so the common case
+     * costs a single round trip.
      *
      * @param pg the PlayerGame entry to save
      * @return an Optional containing the saved entry, or empty if it already exists
      * @throws IllegalArgumentException if player or game does not exist
      */
     public Optional<PlayerGame> savePlayerGame(PlayerGame pg) {
-        if (!playerRepository.existsById(pg.playerId())) {
+        if (!playerService.existsPlayer(pg.playerId())) {
             throw new IllegalArgumentException("Player does not exist");
         }
-        if (!gameRepository.existsById(pg.gameId())) {
+        if (!gameService.existsGame(pg.gameId())) {
             throw new IllegalArgumentException("Game does not exist");
         }
 
-        String customId = pg.playerId() + "-" + pg.gameId();
-
-        Optional<PlayerGame> existing = playerGameRepository.findById(customId);
-        if (existing.isPresent()) {
+        PlayerGame withCustomId = withCustomId(pg);
+        try {
+            PlayerGame saved = playerGameRepository.insert(withCustomId);
+            onStatusChange(List.of(new StatusTransition(saved.playerId(), saved.gameId(), null, saved.status())));
+            return Optional.of(saved);
+        } catch (DuplicateKeyException e) {
+            log.warn("PlayerGame with id={} already exists", withCustomId.id());
             return Optional.empty();
         }
+    }
+
+    /**
+     * Inserts a batch of PlayerGame entries using unordered bulk writes.
+     * Player and game existence is checked for the whole batch with one query each,
+     * and entries that already exist are reported as duplicates.
+     *
+     * @param entries the entries to save
+     * @return the per-entry results
+     */
+    public BulkResult savePlayerGames(List<PlayerGame> entries) {
+        log.info("Bulk saving {} player-game entries", entries.size());
+        BulkWrites.checkSize(entries);
 
-        PlayerGame withCustomId = new PlayerGame(customId, pg.playerId(), pg.gameId(), pg.status());
+        List<PlayerGame> keyed = entries.stream()
+                .map(pg -> pg == null ? null : withCustomId(pg))
+                .toList();
+        Set<String> players = existing(keyed, PlayerGame::playerId, playerRepository::findExistingIds);
+        Set<String> games = existing(keyed, PlayerGame::gameId, gameRepository::findExistingIds);
+
+        BulkResult result = BulkWrites.process(keyed, PlayerGame::id, pg -> {
+            String violations = BulkWrites.describe(validator.validate(pg));
+            if (violations != null) {
+                return violations;
+            }
+            if (!players.contains(pg.playerId())) {
+                return "Player does not exist";
+            }
+            if (!games.contains(pg.gameId())) {
+                return "Game does not exist";
+            }
+            return null;
+        }, playerGameRepository::insertAll);
+        onStatusChange(result.items().stream()
+                .filter(item -> item.status() == BulkItemStatus.CREATED)
+                .map(item -> keyed.get(item.index()))
+                .map(pg -> new StatusTransition(pg.playerId(), pg.gameId(), null, pg.status()))
+                .toList());
 
-        return Optional.of(playerGameRepository.save(withCustomId));
+        log.info("Bulk save of player-game entries finished: {} succeeded, {} failed",
+                result.succeeded(), result.failed());
+        return result;
     }
 
 
     /**
-     * Retrieves a list of players who are tracking a specific game.
+     * Retrieves one page of the players who are tracking a specific game.
+     * Only the entries of the requested page are read and joined to their players,
+     * in a single aggregation, however many players track the game. The cursor follows the
+     * entries scanned, and entries whose player was deleted are dropped only afterwards,
+     * so such a page may hold fewer players than requested without ending the listing.
      *
      * @param gameId the ID of the game
-     * @return a list of {@link Player} records
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of {@link Player} records
      */
-    public List<Player> getPlayersByGame(String gameId) {
-        log.info("Fetching players who are tracking gameId={}", gameId);
-
-        List<String> playerIds = playerGameRepository.findByGameId(gameId).stream()
-                .map(PlayerGame::playerId)
-                .distinct()
-                .toList();
+    public CursorPage<Player> getPlayersByGamePage(String gameId, String cursor, int size) {
+        log.info("Fetching players who are tracking gameId={}, cursor={}, size={}", gameId, cursor, size);
 
-        return playerRepository.findAllById(playerIds);
+        int pageSize = CursorPage.clampSize(size);
+        List<PlayerByGame> entries = playerGameRepository.findPlayersByGame(
+                gameId, CursorPage.decode(cursor), CursorPage.fetchSize(pageSize));
+        CursorPage<PlayerByGame> page = CursorPage.of(entries, pageSize, PlayerByGame::id);
+        return new CursorPage<>(page.items().stream()
+                .map(PlayerByGame::player)
+                .filter(Objects::nonNull)
+                .toList(), page.nextCursor());
     }
 
     /**
-     * Retrieves game IDs for a player filtered by a specific status.
+     * Retrieves one page of game IDs for a player filtered by a specific status.
+     * The filter runs in MongoDB on an index, so the cost depends on the matching
+     * entries rather than on the size of the player's library.
      *
      * @param playerId the ID of the player
      * @param status the status to filter by
-     * @return a list of game IDs matching the given status
+     * @param cursor the continuation token from the previous page, or null for the first page
+     * @param size the requested page size
+     * @return the page of game IDs matching the given status
      */
-    public List<String> getGamesByStatus(String playerId, GameStatus status) {
-        log.info("Fetching games for playerId={} with status={}", playerId, status);
+    public CursorPage<String> getGamesByStatusPage(String playerId, GameStatus status, String cursor, int size) {
+        log.info("Fetching games for playerId={} with status={}, cursor={}, size={}", playerId, status, cursor, size);
 
-        return playerGameRepository.findByPlayerId(playerId).stream()
-                .filter(pg -> pg.status().equals(status))
-                .map(PlayerGame::gameId)
-                .distinct()
-                .toList();
+        int pageSize = CursorPage.clampSize(size);
+        List<GameIdOnly> entries = playerGameRepository.findByPlayerIdAndStatusAndIdGreaterThanOrderByIdAsc(
+                playerId, status, CursorPage.decode(cursor), Limit.of(CursorPage.fetchSize(pageSize)));
+        return CursorPage.of(entries, pageSize, GameIdOnly::id).map(GameIdOnly::gameId);
     }
 
     /**
-     * Updates the status of a PlayerGame entry.
+     * Updates the status of a PlayerGame entry in a single atomic write,
+     * which also returns the previous status for the derived views.
      *
      * @param playerId the ID of the player
      * @param gameId the ID of the game
@@ -135,24 +264,135 @@ public class PlayerGameService {
     public Optional<PlayerGame> updateStatus(String playerId, String gameId, GameStatus newStatus) {
         log.info("Attempting to update status for playerId={} and gameId={} to {}", playerId, gameId, newStatus);
 
-        Optional<PlayerGame> existing = playerGameRepository.findByPlayerIdAndGameId(playerId, gameId);
-        if (existing.isEmpty()) {
+        Optional<PlayerGame> previous = playerGameRepository.updateStatusById(PlayerGame.idOf(playerId, gameId), newStatus);
+        if (previous.isEmpty()) {
             log.warn("No PlayerGame entry found for playerId={} and gameId={}", playerId, gameId);
             return Optional.empty();
         }
 
-        PlayerGame updated = new PlayerGame(
-                existing.get().id(),
-                existing.get().playerId(),
-                existing.get().gameId(),
-                newStatus
-        );
+        PlayerGame before = previous.get();
+        onStatusChange(List.of(new StatusTransition(playerId, gameId, before.status(), newStatus)));
+        return Optional.of(new PlayerGame(before.id(), before.playerId(), before.gameId(), newStatus));
+    }
+
+    /**
+     * Applies a batch of status changes with unordered bulk writes, one conditional {@code $set}
+     * per change keyed by the entry's deterministic ID, instead of a lookup and a save per change.
+     * The previous statuses, needed for the derived views, are read for the whole batch in one
+     * query beforehand, and each write only applies if the entry still has the status read, so
+     * every reported transition is one that actually happened. Changes that lose a race with
+     * another write to the same entry are retried from a fresh read, up to
+     * {@link #MAX_STATUS_ATTEMPTS} times, and then reported as conflicts. Changes to entries that
+     * do not exist, or were deleted before the write, are reported as not found. Changes that repeat an
+     * entry earlier in the batch are rejected, since unordered writes would apply them in no fixed order.
+     *
+     * @param updates the status changes to apply
+     * @return the per-change results
+     */
+    public BulkResult updateStatuses(List<StatusUpdate> updates) {
+        log.info("Bulk updating {} player-game statuses", updates.size());
+
+        Set<String> seen = new HashSet<>();
+        BulkResult result = BulkWrites.process(updates, StatusUpdate::entryId, update -> {
+            String violations = BulkWrites.describe(validator.validate(update));
+            if (violations != null) {
+                return violations;
+            }
+            if (!seen.add(update.entryId())) {
+                return "Duplicate entry in request";
+            }
+            return null;
+        }, this::writeStatuses);
+
+        log.info("Bulk status update finished: {} succeeded, {} failed", result.succeeded(), result.failed());
+        return result;
+    }
+
+    /**
+     * Writes accepted status changes, retrying the ones that conflicted,
+     * and reports the transitions that were applied.
+     */
+    private List<BulkItemResult> writeStatuses(List<StatusUpdate> updates) {
+        BulkItemResult[] results = new BulkItemResult[updates.size()];
+        List<StatusTransition> transitions = new ArrayList<>();
+        List<Integer> pending = IntStream.range(0, updates.size()).boxed().toList();
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<String, PlayerGame> before = playerGameRepository.findAllById(
+                            pending.stream().map(i -> updates.get(i).entryId()).toList()).stream()
+                    .collect(Collectors.toMap(PlayerGame::id, Function.identity()));
+
+            List<Integer> sent = new ArrayList<>(pending.size());
+            List<StatusTransition> changes = new ArrayList<>(pending.size());
+            for (int i : pending) {
+                StatusUpdate update = updates.get(i);
+                PlayerGame previous = before.get(update.entryId());
+                if (previous == null) {
+                    results[i] = new BulkItemResult(i, update.entryId(), BulkItemStatus.NOT_FOUND, null);
+                } else {
+                    sent.add(i);
+                    changes.add(new StatusTransition(previous.playerId(), previous.gameId(),
+                            previous.status(), update.status()));
+                }
+            }
+
+            List<BulkItemResult> written = changes.isEmpty() ? List.of() : playerGameRepository.compareAndSetStatuses(changes);
+            List<Integer> conflicted = new ArrayList<>();
+            for (int j = 0; j < written.size(); j++) {
+                int i = sent.get(j);
+                BulkItemResult item = written.get(j);
+                StatusTransition change = changes.get(j);
+                if (item.status() == BulkItemStatus.CONFLICT && attempt < MAX_STATUS_ATTEMPTS) {
+                    conflicted.add(i);
+                    continue;
+                }
+                results[i] = item.withIndex(i);
+                if (item.status() == BulkItemStatus.UPDATED) {
+                    transitions.add(change);
+                }
+            }
+            pending = conflicted;
+        }
+
+        onStatusChange(transitions);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Reports created, re-statused and deleted entries to the views derived from them.
+     * A null previous status means the entry was created, a null current status that it was deleted.
+     */
+    private void onStatusChange(List<StatusTransition> transitions) {
+        if (!transitions.isEmpty()) {
+            statsService.apply(transitions);
+            trendingTracker.record(transitions);
+            reachService.record(transitions);
+        }
+    }
 
-        return Optional.of(playerGameRepository.save(updated));
+    /**
+     * Returns a copy of the entry keyed by its deterministic {@code playerId-gameId} ID.
+     */
+    private static PlayerGame withCustomId(PlayerGame pg) {
+        return new PlayerGame(PlayerGame.idOf(pg.playerId(), pg.gameId()), pg.playerId(), pg.gameId(), pg.status());
+    }
+
+    /**
+     * Collects the referenced IDs of a batch and returns the ones that exist.
+     */
+    private static Set<String> existing(List<PlayerGame> entries,
+                                        Function<PlayerGame, String> reference,
+                                        Function<Set<String>, Set<String>> lookup) {
+        Set<String> ids = entries.stream()
+                .filter(Objects::nonNull)
+                .map(reference)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        return ids.isEmpty() ? Set.of() : lookup.apply(ids);
     }
 
     /**
-     * Deletes a PlayerGame entry by its ID.
+     * Deletes a PlayerGame entry by its ID in a single round trip.
      *
      * @param id the ID of the PlayerGame entry to delete
      * @return true if deleted, false if not found
@@ -160,8 +400,10 @@ public class PlayerGameService {
     public boolean deletePlayerGame(String id) {
         log.info("Attempting to delete PlayerGame with id={}", id);
 
-        if (playerGameRepository.existsById(id)) {
-            playerGameRepository.deleteById(id);
+        Optional<PlayerGame> deleted = playerGameRepository.findAndRemoveById(id);
+        if (deleted.isPresent()) {
+            PlayerGame pg = deleted.get();
+            onStatusChange(List.of(new StatusTransition(pg.playerId(), pg.gameId(), pg.status(), null)));
             log.info("PlayerGame with id={} deleted successfully", id);
             return true;
         }
@@ -0,0 +1,27 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+/**
+ * Persisted HyperLogLog sketches of the distinct players who ever tracked a game,
+ * kept in the {@code playerReach} collection.
+ * Each sketch is stored as the compact binary form of {@link com.anas.gameLibrary.common.HyperLogLog},
+ * a couple of KB whatever the number of players. Every node merges its own sketches into
+ * the stored ones, and the version guards that read-merge-write against concurrent flushes.
+ *
+ * @param gameId the ID of the game
+ * @param players the sketch of every player who tracked the game
+ * @param playersByStatus the sketch of every player who had the game in each status
+ * @param version the number of times the document has been written, null if it was never stored
+ */
+@Document("playerReach")
+public record PlayerReach(
+        @Id String gameId,
+        byte[] players,
+        Map<GameStatus, byte[]> playersByStatus,
+        Long version
+) {}
@@ -0,0 +1,21 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+
+import java.util.Map;
+
+/**
+ * Estimated number of distinct players who ever tracked a game.
+ *
+ * @param gameId the ID of the game
+ * @param players the estimated number of players who ever tracked the game
+ * @param playersByStatus the estimated number of players who ever had the game in each status
+ * @param relativeError the relative standard error of every estimate, e.g. 0.023 for 2.3%
+ */
+public record PlayerReachEstimate(
+        String gameId,
+        long players,
+        Map<GameStatus, Long> playersByStatus,
+        double relativeError
+) {
+}
@@ -0,0 +1,9 @@
+package com.anas.gameLibrary.playerGame;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository for the persisted {@link PlayerReach} sketches.
+ */
+public interface PlayerReachRepository extends MongoRepository<PlayerReach, String>, PlayerReachRepositoryCustom {
+}
@@ -0,0 +1,30 @@
+package com.anas.gameLibrary.playerGame;
+
+import java.util.stream.Stream;
+
+/**
+ * Custom repository operations for {@link PlayerReach} that need direct access to
+ * {@link org.springframework.data.mongodb.core.MongoTemplate}.
+ * Implemented by {@link PlayerReachRepositoryCustomImpl} and mixed into {@link PlayerReachRepository}.
+ */
+public interface PlayerReachRepositoryCustom {
+
+    /**
+     * Streams every stored sketch document using a server-side cursor.
+     * The returned stream must be closed to release the cursor.
+     *
+     * @param batchSize the number of documents fetched per cursor round trip
+     * @return a lazily populated stream of sketches
+     */
+    Stream<PlayerReach> streamAll(int batchSize);
+
+    /**
+     * Writes the sketches of a game only if the stored document is still at the version
+     * they were merged from: inserts the document if its version is null, and otherwise
+     * replaces it and increments its version if the stored version matches.
+     *
+     * @param reach the sketches to store, carrying the version they were read at
+     * @return true if the document was written, false if another writer got there first
+     */
+    boolean compareAndSet(PlayerReach reach);
+}
@@ -0,0 +1,53 @@
+package com.anas.gameLibrary.playerGame;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.stream.Stream;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * {@link MongoTemplate}-backed implementation of {@link PlayerReachRepositoryCustom}.
+ */
+public class PlayerReachRepositoryCustomImpl implements PlayerReachRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Constructs the implementation with the given template.
+     *
+     * @param mongoTemplate the template used to run queries
+     */
+    public PlayerReachRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Stream<PlayerReach> streamAll(int batchSize) {
+        return mongoTemplate.stream(new Query().cursorBatchSize(batchSize), PlayerReach.class);
+    }
+
+    @Override
+    public boolean compareAndSet(PlayerReach reach) {
+        if (reach.version() == null) {
+            try {
+                mongoTemplate.insert(new PlayerReach(reach.gameId(), reach.players(), reach.playersByStatus(), 0L));
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+
+        Update update = new Update()
+                .set("players", reach.players())
+                .set("playersByStatus", reach.playersByStatus())
+                .inc("version", 1);
+        return mongoTemplate.updateFirst(
+                query(where("_id").is(reach.gameId()).and("version").is(reach.version())),
+                update, PlayerReach.class).getModifiedCount() == 1;
+    }
+}
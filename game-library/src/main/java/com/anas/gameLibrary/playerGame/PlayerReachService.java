@@ -0,0 +1,258 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.common.HyperLogLog;
+import com.anas.gameLibrary.game.GameService;
+import com.anas.gameLibrary.player.GameStatus;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Service layer for the approximate distinct-player counts of each game.
+ *
+ * Every game has a {@link HyperLogLog} sketch of the players who ever tracked it, plus one
+ * per status of the players who ever had it in that status. {@link PlayerGameService} reports
+ * every entry it creates or re-statuses, and the player is added to the sketches in memory,
+ * so estimates never query the player-game entries. A sketch is about 2 KB and estimates
+ * are within about 2.3% for one standard error, however many players track the game.
+ *
+ * Changed sketches are flushed every {@code game-library.reach.flush-interval} and on shutdown:
+ * each is merged into the stored {@link PlayerReach} under a version check, and the merged
+ * result is merged back into memory, so several application instances converge on the
+ * sketches of all their players. Reports made since the last flush are lost if the process dies.
+ */
+@Service
+public class PlayerReachService {
+    private static final Logger log = LoggerFactory.getLogger(PlayerReachService.class);
+
+    /** Precision of every sketch; changing it makes the stored sketches unreadable. */
+    public static final int PRECISION = 11;
+
+    private static final int STREAM_BATCH_SIZE = 1_000;
+    private static final int MAX_MERGE_ATTEMPTS = 5;
+
+    private final PlayerReachRepository reachRepository;
+    private final PlayerGameRepository playerGameRepository;
+    private final GameService gameService;
+    private final Map<String, Sketches> sketches = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a PlayerReachService with the required repositories.
+     *
+     * @param reachRepository repository for the persisted sketches
+     * @param playerGameRepository repository for player-game records, used to build the sketches when none are stored
+     * @param gameService service used to check that a game exists
+     */
+    public PlayerReachService(PlayerReachRepository reachRepository,
+                              PlayerGameRepository playerGameRepository,
+                              GameService gameService) {
+        this.reachRepository = reachRepository;
+        this.playerGameRepository = playerGameRepository;
+        this.gameService = gameService;
+    }
+
+    /**
+     * Estimates how many distinct players ever tracked a game, overall and per status.
+     *
+     * @param gameId the ID of the game
+     * @return the estimates, all 0 if nobody tracked the game, or empty if the game does not exist
+     */
+    public Optional<PlayerReachEstimate> getEstimate(String gameId) {
+        log.info("Estimating distinct players for gameId={}", gameId);
+
+        if (!gameService.existsGame(gameId)) {
+            return Optional.empty();
+        }
+        Sketches game = sketches.get(gameId);
+        return Optional.of(game == null ? new Sketches().estimate(gameId) : game.estimate(gameId));
+    }
+
+    /**
+     * Adds the players of created and re-statused entries to the sketches of their games.
+     * Deletions are ignored, since the sketches count players who ever tracked a game.
+     *
+     * @param transitions the transitions to record
+     */
+    public void record(List<StatusTransition> transitions) {
+        for (StatusTransition transition : transitions) {
+            if (transition.current() != null) {
+                sketches.computeIfAbsent(transition.gameId(), id -> new Sketches())
+                        .add(transition.playerId(), transition.current());
+            }
+        }
+    }
+
+    /**
+     * Loads the stored sketches once the application is ready, or builds them from the
+     * player-game entries if none are stored yet, e.g. after the initial data load.
+     * Sketches built that way only know each entry's current status.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            int loaded = 0;
+            try (Stream<PlayerReach> stored = reachRepository.streamAll(STREAM_BATCH_SIZE)) {
+                for (Iterator<PlayerReach> it = stored.iterator(); it.hasNext(); ) {
+                    PlayerReach reach = it.next();
+                    sketches.computeIfAbsent(reach.gameId(), id -> new Sketches()).merge(reach);
+                    loaded++;
+                }
+            }
+            if (loaded > 0) {
+                log.info("Loaded distinct-player sketches of {} games", loaded);
+            } else if (playerGameRepository.count() > 0) {
+                log.info("No distinct-player sketches stored, building them from player-game entries");
+                try (Stream<PlayerGame> entries = playerGameRepository.streamAll(STREAM_BATCH_SIZE)) {
+                    entries.forEach(pg -> sketches.computeIfAbsent(pg.gameId(), id -> new Sketches())
+                            .add(pg.playerId(), pg.status()));
+                }
+                flush();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to load distinct-player sketches", e);
+        }
+    }
+
+    /**
+     * Merges every changed sketch into its stored copy and the stored copy back into memory.
+     * Games whose merge fails stay marked as changed and are retried on the next flush.
+     *
+     * @return the number of games flushed
+     */
+    @Scheduled(fixedDelayString = "${game-library.reach.flush-interval:1m}",
+            initialDelayString = "${game-library.reach.flush-interval:1m}")
+    public synchronized int flush() {
+        Map<String, PlayerReach> pending = new HashMap<>();
+        sketches.forEach((gameId, game) -> game.takeChanges(gameId).ifPresent(reach -> pending.put(gameId, reach)));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, PlayerReach> stored;
+        try {
+            stored = StreamSupport.stream(reachRepository.findAllById(pending.keySet()).spliterator(), false)
+                    .collect(Collectors.toMap(PlayerReach::gameId, Function.identity()));
+        } catch (RuntimeException e) {
+            log.error("Failed to read distinct-player sketches of {} games, retrying on the next flush", pending.size(), e);
+            pending.keySet().forEach(gameId -> sketches.get(gameId).markChanged());
+            return 0;
+        }
+
+        int flushed = 0;
+        for (PlayerReach reach : pending.values()) {
+            Sketches game = sketches.get(reach.gameId());
+            try {
+                game.merge(mergeIntoStored(reach, stored.get(reach.gameId())));
+                flushed++;
+            } catch (RuntimeException e) {
+                log.error("Failed to store distinct-player sketches of gameId={}, retrying on the next flush", reach.gameId(), e);
+                game.markChanged();
+            }
+        }
+        log.info("Flushed distinct-player sketches of {} games", flushed);
+        return flushed;
+    }
+
+    /**
+     * Flushes the remaining changes when the application shuts down.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to flush distinct-player sketches on shutdown", e);
+        }
+    }
+
+    /**
+     * Stores the union of the local and stored sketches of a game, re-reading and retrying
+     * when another writer stored a newer version in between.
+     */
+    private PlayerReach mergeIntoStored(PlayerReach local, PlayerReach stored) {
+        for (int attempt = 1; attempt <= MAX_MERGE_ATTEMPTS; attempt++) {
+            Sketches union = new Sketches();
+            union.merge(local);
+            if (stored != null) {
+                union.merge(stored);
+            }
+            PlayerReach merged = union.toDocument(local.gameId(), stored == null ? null : stored.version());
+            if (reachRepository.compareAndSet(merged)) {
+                return merged;
+            }
+            stored = reachRepository.findById(local.gameId()).orElse(null);
+        }
+        throw new OptimisticLockingFailureException("Distinct-player sketches of gameId=" + local.gameId()
+                + " changed concurrently " + MAX_MERGE_ATTEMPTS + " times");
+    }
+
+    /**
+     * The sketches of one game, guarded by their own monitor.
+     */
+    private static final class Sketches {
+        private final HyperLogLog players = new HyperLogLog(PRECISION);
+        private final Map<GameStatus, HyperLogLog> playersByStatus = new EnumMap<>(GameStatus.class);
+        private boolean changed;
+
+        synchronized void add(String playerId, GameStatus status) {
+            players.add(playerId);
+            playersByStatus.computeIfAbsent(status, s -> new HyperLogLog(PRECISION)).add(playerId);
+            changed = true;
+        }
+
+        synchronized void merge(PlayerReach reach) {
+            if (reach.players() != null) {
+                players.merge(HyperLogLog.fromBytes(reach.players()));
+            }
+            if (reach.playersByStatus() != null) {
+                reach.playersByStatus().forEach((status, bytes) -> playersByStatus
+                        .computeIfAbsent(status, s -> new HyperLogLog(PRECISION))
+                        .merge(HyperLogLog.fromBytes(bytes)));
+            }
+        }
+
+        synchronized void markChanged() {
+            changed = true;
+        }
+
+        synchronized Optional<PlayerReach> takeChanges(String gameId) {
+            if (!changed) {
+                return Optional.empty();
+            }
+            changed = false;
+            return Optional.of(toDocument(gameId, null));
+        }
+
+        synchronized PlayerReach toDocument(String gameId, Long version) {
+            Map<GameStatus, byte[]> byStatus = new EnumMap<>(GameStatus.class);
+            playersByStatus.forEach((status, sketch) -> byStatus.put(status, sketch.toBytes()));
+            return new PlayerReach(gameId, players.toBytes(), byStatus, version);
+        }
+
+        synchronized PlayerReachEstimate estimate(String gameId) {
+            Map<GameStatus, Long> byStatus = new EnumMap<>(GameStatus.class);
+            for (GameStatus status : GameStatus.values()) {
+                HyperLogLog sketch = playersByStatus.get(status);
+                byStatus.put(status, sketch == null ? 0L : sketch.estimate());
+            }
+            return new PlayerReachEstimate(gameId, players.estimate(), byStatus, HyperLogLog.standardError(PRECISION));
+        }
+    }
+}
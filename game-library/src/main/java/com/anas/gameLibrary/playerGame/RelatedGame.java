@@ -0,0 +1,13 @@
+package com.anas.gameLibrary.playerGame;
+
+/**
+ * A game recommended alongside another because the same players track both.
+ *
+ * @param gameId the ID of the recommended game
+ * @param sharedPlayers the number of players tracking both games
+ */
+public record RelatedGame(
+        String gameId,
+        int sharedPlayers
+) {
+}
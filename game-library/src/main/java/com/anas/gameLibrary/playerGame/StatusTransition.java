@@ -0,0 +1,19 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+
+/**
+ * A change to the status of a player-game entry, as reported to the derived views.
+ *
+ * @param playerId the ID of the player
+ * @param gameId the ID of the game
+ * @param previous the status before the change, or null if the entry was created
+ * @param current the status after the change, or null if the entry was deleted
+ */
+public record StatusTransition(
+        String playerId,
+        String gameId,
+        GameStatus previous,
+        GameStatus current
+) {
+}
@@ -0,0 +1,28 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * A single status change in a bulk status update request.
+ *
+ * @param playerId the ID of the player (must not be blank)
+ * @param gameId the ID of the game (must not be blank)
+ * @param status the new status of the game for the player (must not be null)
+ */
+public record StatusUpdate(
+        @NotBlank String playerId,
+        @NotBlank String gameId,
+        @NotNull GameStatus status
+) {
+
+    /**
+     * Returns the ID of the player-game entry this change applies to.
+     *
+     * @return the deterministic {@code playerId-gameId} ID
+     */
+    public String entryId() {
+        return PlayerGame.idOf(playerId, gameId);
+    }
+}
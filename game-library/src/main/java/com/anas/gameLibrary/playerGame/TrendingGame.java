@@ -0,0 +1,13 @@
+package com.anas.gameLibrary.playerGame;
+
+/**
+ * A game's place in the trending list.
+ *
+ * @param gameId the ID of the game
+ * @param starts the number of times players moved the game to PLAYING or COMPLETED in the window
+ */
+public record TrendingGame(
+        String gameId,
+        long starts
+) {
+}
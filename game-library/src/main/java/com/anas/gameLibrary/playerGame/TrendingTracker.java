@@ -0,0 +1,158 @@
+package com.anas.gameLibrary.playerGame;
+
+import com.anas.gameLibrary.player.GameStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory tracker of trending games: how many players moved each game to
+ * {@link GameStatus#PLAYING} or {@link GameStatus#COMPLETED} over the last hour and day.
+ *
+ * {@link PlayerGameService} reports every status transition. Each game gets one ring of
+ * time buckets per {@link TrendingWindow}; a bucket packs its time slot and its count into
+ * one long, so recording is a lock-free compare-and-set and a stale bucket is reset by the
+ * first write of its new slot. A window sum covers the current, partly elapsed bucket plus
+ * the full buckets before it, so it is accurate to one bucket width.
+ *
+ * Ranking keeps a bounded min-heap of the top entries while walking the tracked games,
+ * so it reads only memory and never scans player-game entries. Games with no activity in
+ * the longest window are dropped during that walk; a start recorded at the very moment
+ * its game is dropped may be lost. Counts start empty on every restart.
+ */
+@Component
+public class TrendingTracker {
+
+    /** Number of games returned when the client does not ask for a limit, as a request parameter default. */
+    public static final String DEFAULT_LIMIT = "10";
+
+    /** Upper bound on the number of games a client may request. */
+    public static final int MAX_LIMIT = 100;
+
+    private static final int SLOT_BITS = 32;
+    private static final long COUNT_MASK = (1L << SLOT_BITS) - 1;
+
+    private final Clock clock;
+    private final Map<String, Counters> games = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the tracker.
+     *
+     * @param clock the clock that places transitions in time buckets
+     */
+    public TrendingTracker(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Counts the transitions that moved a game to PLAYING or COMPLETED.
+     * Each transition must be one that was applied, from the status the entry actually had:
+     * a write racing another one on the same entry would otherwise count the same start twice.
+     * {@link PlayerGameService} only reports transitions whose write matched the previous status.
+     *
+     * @param transitions the status transitions that were applied
+     */
+    public void record(List<StatusTransition> transitions) {
+        long now = clock.millis();
+        for (StatusTransition transition : transitions) {
+            if (isStart(transition)) {
+                games.computeIfAbsent(transition.gameId(), id -> new Counters()).increment(now);
+            }
+        }
+    }
+
+    /**
+     * Ranks games by the number of starts within a window.
+     *
+     * @param window the window to rank over
+     * @param limit the maximum number of games to return
+     * @return the top games, most starts first, ties broken by game ID
+     */
+    public List<TrendingGame> top(TrendingWindow window, int limit) {
+        long now = clock.millis();
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Comparator<TrendingGame> ranking = Comparator.comparingLong(TrendingGame::starts)
+                .thenComparing(TrendingGame::gameId, Comparator.reverseOrder());
+        PriorityQueue<TrendingGame> heap = new PriorityQueue<>(max + 1, ranking);
+
+        for (Map.Entry<String, Counters> entry : games.entrySet()) {
+            Counters counters = entry.getValue();
+            long starts = counters.sum(window, now);
+            if (starts > 0) {
+                heap.offer(new TrendingGame(entry.getKey(), starts));
+                if (heap.size() > max) {
+                    heap.poll();
+                }
+            } else if (counters.isIdle(now)) {
+                games.remove(entry.getKey(), counters);
+            }
+        }
+
+        List<TrendingGame> top = new ArrayList<>(heap);
+        top.sort(ranking.reversed());
+        return top;
+    }
+
+    private static boolean isStart(StatusTransition transition) {
+        return transition.current() != transition.previous()
+                && (transition.current() == GameStatus.PLAYING || transition.current() == GameStatus.COMPLETED);
+    }
+
+    /**
+     * The bucket rings of one game, one per window.
+     */
+    private static final class Counters {
+        private final AtomicLongArray[] rings = new AtomicLongArray[TrendingWindow.values().length];
+
+        Counters() {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                rings[window.ordinal()] = new AtomicLongArray(window.buckets());
+            }
+        }
+
+        void increment(long now) {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                AtomicLongArray ring = rings[window.ordinal()];
+                long slot = now / window.bucketMillis();
+                int index = (int) (slot % window.buckets());
+                long current;
+                long next;
+                do {
+                    current = ring.get(index);
+                    next = (current >>> SLOT_BITS) == slot ? current + 1 : (slot << SLOT_BITS) | 1;
+                } while (!ring.compareAndSet(index, current, next));
+            }
+        }
+
+        long sum(TrendingWindow window, long now) {
+            AtomicLongArray ring = rings[window.ordinal()];
+            long newest = now / window.bucketMillis();
+            long oldest = newest - window.buckets() + 1;
+            long sum = 0;
+            for (int i = 0; i < ring.length(); i++) {
+                long bucket = ring.get(i);
+                long slot = bucket >>> SLOT_BITS;
+                if (slot >= oldest && slot <= newest) {
+                    sum += bucket & COUNT_MASK;
+                }
+            }
+            return sum;
+        }
+
+        boolean isIdle(long now) {
+            for (TrendingWindow window : TrendingWindow.values()) {
+                if (sum(window, now) > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
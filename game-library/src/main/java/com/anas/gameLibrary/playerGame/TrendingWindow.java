@@ -0,0 +1,55 @@
+package com.anas.gameLibrary.playerGame;
+
+import java.time.Duration;
+
+/**
+ * Sliding time windows over which {@link TrendingTracker} ranks games.
+ * Each window is kept as a ring of fixed-width buckets, so it slides one bucket at a time.
+ */
+public enum TrendingWindow {
+    HOUR("1h", Duration.ofMinutes(1), 60),
+    DAY("1d", Duration.ofHours(1), 24);
+
+    private final String label;
+    private final long bucketMillis;
+    private final int buckets;
+
+    TrendingWindow(String label, Duration bucketWidth, int buckets) {
+        this.label = label;
+        this.bucketMillis = bucketWidth.toMillis();
+        this.buckets = buckets;
+    }
+
+    /**
+     * The label clients pass to select the window, such as {@code 1h}.
+     *
+     * @return the window label
+     */
+    public String label() {
+        return label;
+    }
+
+    long bucketMillis() {
+        return bucketMillis;
+    }
+
+    int buckets() {
+        return buckets;
+    }
+
+    /**
+     * Resolves a window from its label.
+     *
+     * @param label the window label, such as {@code 1h} or {@code 1d}
+     * @return the window
+     * @throws IllegalArgumentException if no window has that label
+     */
+    public static TrendingWindow fromLabel(String label) {
+        for (TrendingWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        throw new IllegalArgumentException("Unknown window: " + label + " (expected 1h or 1d)");
+    }
+}
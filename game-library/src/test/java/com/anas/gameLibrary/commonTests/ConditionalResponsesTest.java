@@ -0,0 +1,54 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.ConditionalResponses;
+import com.anas.gameLibrary.common.VersionStamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalResponsesTest {
+
+    private final VersionStamp stamp = new VersionStamp(3L, Instant.parse("2025-01-01T10:00:00Z"));
+
+    @Test
+    void testOkCarriesEtagAndLastModified() {
+        ResponseEntity<VersionStamp> response = ConditionalResponses.ok(stamp);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"3\"", response.getHeaders().getETag());
+        assertEquals(stamp.lastModified().toEpochMilli(), response.getHeaders().getLastModified());
+        assertSame(stamp, response.getBody());
+    }
+
+    @Test
+    void testEtagOfUnversionedDocumentIsZero() {
+        assertEquals("\"0\"", ConditionalResponses.etag(new VersionStamp(null, null)));
+    }
+
+    @Test
+    void testMatchingIfNoneMatchIsNotModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/collections/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"3\"");
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        assertTrue(ConditionalResponses.isConditional(webRequest));
+        assertTrue(ConditionalResponses.isNotModified(webRequest, stamp));
+    }
+
+    @Test
+    void testStaleIfNoneMatchIsModified() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/collections/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"2\"");
+        ServletWebRequest webRequest = new ServletWebRequest(request, new MockHttpServletResponse());
+
+        assertFalse(ConditionalResponses.isNotModified(webRequest, stamp));
+    }
+}
@@ -0,0 +1,56 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.HyperLogLog;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HyperLogLogTest {
+
+    @Test
+    void testEstimateIsWithinErrorBoundsAndIgnoresRepeats() {
+        HyperLogLog small = new HyperLogLog(11);
+        HyperLogLog large = new HyperLogLog(11);
+        for (int i = 0; i < 100; i++) {
+            small.add("player-" + i);
+            small.add("player-" + i);
+        }
+        for (int i = 0; i < 100_000; i++) {
+            large.add("player-" + i);
+        }
+
+        assertEquals(100, small.estimate(), 3);
+        assertEquals(100_000, large.estimate(), 100_000 * 3 * HyperLogLog.standardError(11));
+        assertEquals(0, new HyperLogLog(11).estimate());
+    }
+
+    @Test
+    void testMergeEstimatesUnion() {
+        HyperLogLog first = new HyperLogLog(11);
+        HyperLogLog second = new HyperLogLog(11);
+        for (int i = 0; i < 6_000; i++) {
+            first.add("player-" + i);
+            second.add("player-" + (i + 4_000));
+        }
+
+        first.merge(second);
+
+        assertEquals(10_000, first.estimate(), 10_000 * 3 * HyperLogLog.standardError(11));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        HyperLogLog sketch = new HyperLogLog(11);
+        sketch.add("player-1");
+        sketch.add("player-2");
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog copy = HyperLogLog.fromBytes(bytes);
+
+        assertEquals(1 + 2048, bytes.length);
+        assertEquals(sketch.estimate(), copy.estimate());
+        assertArrayEquals(bytes, copy.toBytes());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] {11, 0, 0}));
+    }
+}
@@ -0,0 +1,79 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.IdMembershipFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdMembershipFilterTest {
+
+    @Test
+    void testEverythingMightExistUntilLoaded() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ofMinutes(2));
+
+        assertFalse(filter.isLoaded());
+        assertTrue(filter.mightContain("unknown"));
+    }
+
+    @Test
+    void testLoadedIdsAreNeverRejectedAndFalsePositivesStayRare() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 10_000, 0.01, Duration.ofMinutes(2));
+
+        filter.rebuild(() -> 10_000, () -> IntStream.range(0, 10_000).mapToObj(i -> "game-" + i));
+
+        assertTrue(filter.isLoaded());
+        assertTrue(IntStream.range(0, 10_000).allMatch(i -> filter.mightContain("game-" + i)));
+        long falsePositives = IntStream.range(0, 10_000).filter(i -> filter.mightContain("other-" + i)).count();
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testIdsAddedDuringRebuildAreKept() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ofMinutes(2));
+
+        filter.rebuild(() -> 1, () -> Stream.of("loaded").peek(id -> filter.add("written-during-load")));
+        filter.addAll(List.of("written-after-load"));
+
+        assertTrue(filter.mightContain("loaded"));
+        assertTrue(filter.mightContain("written-during-load"));
+        assertTrue(filter.mightContain("written-after-load"));
+    }
+
+    @Test
+    void testFailedRebuildKeepsPreviousContents() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ofMinutes(2));
+        filter.rebuild(() -> 1, () -> Stream.of("loaded"));
+
+        filter.rebuild(() -> 1, () -> Stream.<String>of("next").peek(id -> {
+            throw new IllegalStateException("cursor lost");
+        }));
+
+        assertTrue(filter.mightContain("loaded"));
+    }
+
+    @Test
+    void testStaleFilterNoLongerRejects() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ZERO);
+
+        filter.rebuild(() -> 1, () -> Stream.of("loaded"));
+
+        assertFalse(filter.isLoaded());
+        assertTrue(filter.mightContain("written-by-another-instance"));
+    }
+
+    @Test
+    void testConcurrentRebuildIsSkipped() {
+        IdMembershipFilter filter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ofMinutes(2));
+
+        filter.rebuild(() -> 1, () -> Stream.of("loaded").peek(id ->
+                filter.rebuild(() -> 1, () -> Stream.of("nested"))));
+
+        assertTrue(filter.mightContain("loaded"));
+        assertFalse(filter.mightContain("nested"));
+    }
+}
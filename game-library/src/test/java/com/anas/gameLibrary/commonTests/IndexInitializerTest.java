@@ -0,0 +1,169 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.ImportJob;
+import com.anas.gameLibrary.common.ImportJobRepository;
+import com.anas.gameLibrary.common.IndexInitializer;
+import com.anas.gameLibrary.common.IndexMigration;
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.game.GameRepository;
+import com.anas.gameLibrary.player.GameCollection;
+import com.anas.gameLibrary.player.GameCollectionRepository;
+import com.anas.gameLibrary.player.Player;
+import com.anas.gameLibrary.player.PlayerRepository;
+import com.anas.gameLibrary.playerGame.PlayerGame;
+import com.anas.gameLibrary.playerGame.PlayerGameRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class IndexInitializerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final MongoMappingContext mappingContext = new MongoMappingContext();
+    private IndexInitializer initializer;
+
+    @BeforeEach
+    void setUp() {
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        mappingContext.setInitialEntitySet(Set.of(Player.class, Game.class, PlayerGame.class,
+                GameCollection.class, ImportJob.class));
+        mappingContext.afterPropertiesSet();
+        initializer = new IndexInitializer(mongoTemplate, mappingContext, new DefaultListableBeanFactory());
+    }
+
+    private static IndexInfo idIndex() {
+        return IndexInfo.indexInfoOf(new Document("name", "_id_").append("key", new Document("_id", 1)));
+    }
+
+    private List<IndexInfo> declaredIndexes(Class<?> type) {
+        List<IndexInfo> indexes = new ArrayList<>(List.of(idIndex()));
+        for (IndexDefinition index : IndexResolver.create(mappingContext).resolveIndexFor(type)) {
+            Document info = new Document("name", index.getIndexOptions().get("name")).append("key", index.getIndexKeys());
+            if (index.getIndexOptions().containsKey("collation")) {
+                info.append("collation", index.getIndexOptions().get("collation"));
+            }
+            indexes.add(IndexInfo.indexInfoOf(info));
+        }
+        return indexes;
+    }
+
+    @Test
+    void declaredIndexesSupportEveryRepositoryQuery() {
+        Map<Class<?>, Class<?>> repositories = Map.of(
+                PlayerRepository.class, Player.class,
+                GameRepository.class, Game.class,
+                PlayerGameRepository.class, PlayerGame.class,
+                GameCollectionRepository.class, GameCollection.class,
+                ImportJobRepository.class, ImportJob.class);
+
+        repositories.forEach((repository, type) ->
+                assertEquals(List.of(), initializer.unindexedQueries(repository, type, declaredIndexes(type)),
+                        repository.getSimpleName()));
+    }
+
+    @Test
+    void queriesWithoutLeadingIndexAreFlagged() {
+        List<String> unsupported = initializer.unindexedQueries(PlayerRepository.class, Player.class, List.of(idIndex()));
+
+        assertEquals(List.of("findByUsername"), unsupported);
+        assertEquals(List.of("findTop20ByOrderByStartedAtDesc"),
+                initializer.unindexedQueries(ImportJobRepository.class, ImportJob.class, List.of(idIndex())));
+    }
+
+    @Test
+    void indexesWithAnotherCollationDoNotSupportQueries() {
+        Document usernameKey = new Document("username", 1);
+        IndexInfo caseInsensitive = IndexInfo.indexInfoOf(new Document("name", "username").append("key", usernameKey)
+                .append("collation", new Document("locale", "en").append("caseLevel", false).append("strength", 2)));
+        IndexInfo simple = IndexInfo.indexInfoOf(new Document("name", "username").append("key", usernameKey)
+                .append("collation", new Document("locale", "simple")));
+
+        assertEquals(List.of("findByUsername"),
+                initializer.unindexedQueries(PlayerRepository.class, Player.class, List.of(idIndex(), caseInsensitive)));
+        assertEquals(List.of(),
+                initializer.unindexedQueries(PlayerRepository.class, Player.class, List.of(idIndex(), simple)));
+    }
+
+    @Test
+    void createsNonUniqueIndexesAndSkipsFailures() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        List<Document> created = new ArrayList<>();
+        when(indexOps.createIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+            IndexDefinition index = invocation.getArgument(0);
+            if (index.getIndexKeys().containsKey("startedAt")) {
+                throw new IllegalStateException("index build failed");
+            }
+            created.add(index.getIndexOptions());
+            return (String) index.getIndexOptions().get("name");
+        });
+
+        int count = initializer.createIndexes();
+
+        assertEquals(created.size(), count);
+        assertTrue(created.stream().anyMatch(options -> "gameId_id".equals(options.get("name"))));
+        assertTrue(created.stream().noneMatch(options -> options.getBoolean("unique", false)));
+        verify(indexOps, times(count + 1)).createIndex(any(IndexDefinition.class));
+    }
+
+    @Test
+    void createsUniqueIndexesAtStartup() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        List<String> created = new ArrayList<>();
+        when(indexOps.createIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+            IndexDefinition index = invocation.getArgument(0);
+            assertTrue(index.getIndexOptions().getBoolean("unique", false));
+            created.add(index.getIndexOptions().getString("name"));
+            return index.getIndexOptions().getString("name");
+        });
+
+        initializer.afterSingletonsInstantiated();
+
+        assertEquals(Set.of("username", "playerId_nameKey"), Set.copyOf(created));
+    }
+
+    @Test
+    void migrationsRunBeforeUniqueIndexes() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        List<String> steps = new ArrayList<>();
+        when(indexOps.createIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+            steps.add("index");
+            return "index";
+        });
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("migration", (IndexMigration) () -> steps.add("migration"));
+
+        new IndexInitializer(mongoTemplate, mappingContext, beanFactory).afterSingletonsInstantiated();
+
+        assertEquals(List.of("migration", "index", "index"), steps);
+    }
+
+    @Test
+    void uniqueIndexFailureFailsStartup() {
+        IndexOperations indexOps = mock(IndexOperations.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(indexOps);
+        when(indexOps.createIndex(any(IndexDefinition.class))).thenThrow(new IllegalStateException("E11000 duplicate key"));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, initializer::createUniqueIndexes);
+        assertTrue(e.getMessage().startsWith("Cannot create unique index"), e.getMessage());
+    }
+}
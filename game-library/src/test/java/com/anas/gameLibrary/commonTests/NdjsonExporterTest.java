@@ -0,0 +1,63 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.NdjsonExporter;
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.game.Platform;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NdjsonExporterTest {
+
+    private final NdjsonExporter exporter = new NdjsonExporter(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    private final Game eldenRing = new Game("1", "Elden Ring", "RPG", Platform.PC, LocalDate.of(2022, 1, 1), null, null);
+    private final Game hades = new Game("2", "Hades", "Roguelike", Platform.SWITCH, LocalDate.of(2020, 9, 17), null, null);
+
+    @Test
+    void testExportWritesOneDocumentPerLineAndClosesSource() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        ResponseEntity<StreamingResponseBody> response = exporter.export("games",
+                () -> Stream.of(eldenRing, hades).onClose(() -> closed.set(true)), false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"1\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"2\""));
+        assertEquals("", lines[2]);
+        assertTrue(closed.get());
+        assertEquals(NdjsonExporter.NDJSON, response.getHeaders().getContentType());
+    }
+
+    @Test
+    void testExportGzip() throws Exception {
+        ResponseEntity<StreamingResponseBody> response = exporter.export("games", () -> Stream.of(eldenRing), true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String body = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8);
+        assertTrue(body.contains("\"title\":\"Elden Ring\""));
+        assertTrue(body.endsWith("}\n"));
+        assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,121 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.ImportJob;
+import com.anas.gameLibrary.common.ImportJobRepository;
+import com.anas.gameLibrary.common.ImportJobStatus;
+import com.anas.gameLibrary.common.NdjsonImporter;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.playerGame.PlayerGame;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NdjsonImporterTest {
+
+    private final ImportJobRepository jobRepository = mock(ImportJobRepository.class);
+    private final NdjsonImporter importer = new NdjsonImporter(new ObjectMapper(), jobRepository,
+            Clock.fixed(Instant.parse("2025-01-01T00:00:00Z"), ZoneOffset.UTC));
+    private final List<List<PlayerGame>> batches = new ArrayList<>();
+
+    NdjsonImporterTest() {
+        when(jobRepository.save(any(ImportJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static String line(int i) {
+        return "{\"playerId\":\"p" + i + "\",\"gameId\":\"g1\",\"status\":\"PLAYING\"}";
+    }
+
+    private static ByteArrayInputStream body(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Function<List<PlayerGame>, BulkResult> writer() {
+        return records -> {
+            batches.add(records);
+            return BulkResult.of(IntStream.range(0, records.size())
+                    .mapToObj(i -> records.get(i).playerId().equals("p1")
+                            ? new BulkItemResult(i, null, BulkItemStatus.INVALID, "Player does not exist")
+                            : new BulkItemResult(i, records.get(i).playerId() + "-g1", BulkItemStatus.CREATED, null))
+                    .toList());
+        };
+    }
+
+    private ImportJob run(String jobId, ByteArrayInputStream body, boolean gzip) {
+        return importer.importNdjson("playerGames", jobId, body, gzip, PlayerGame.class,
+                pg -> PlayerGame.idOf(pg.playerId(), pg.gameId()), writer());
+    }
+
+    @Test
+    void testImportReportsRejectedAndMalformedLines() {
+        ImportJob job = run("job1", body(line(0) + "\n" + line(1) + "\n\n{not json\n" + line(2) + "\n"), false);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.status());
+        assertEquals(5, job.committedLines());
+        assertEquals(2, job.succeeded());
+        assertEquals(2, job.failed());
+        assertEquals(2, job.errors().get(0).line());
+        assertEquals("p1-g1", job.errors().get(0).id());
+        assertEquals(4, job.errors().get(1).line());
+        assertEquals(List.of(new PlayerGame(null, "p0", "g1", GameStatus.PLAYING),
+                new PlayerGame(null, "p1", "g1", GameStatus.PLAYING),
+                new PlayerGame(null, "p2", "g1", GameStatus.PLAYING)), batches.get(0));
+    }
+
+    @Test
+    void testImportResumesAfterLastCheckpointOfGzippedBody() throws IOException {
+        ImportJob interrupted = new ImportJob("job2", "playerGames", ImportJobStatus.FAILED, 2, 2, 0, List.of(), 0,
+                Instant.EPOCH, Instant.EPOCH, 0, "Upload interrupted");
+        when(jobRepository.findById("job2")).thenReturn(Optional.of(interrupted));
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write((line(0) + "\n" + line(2) + "\n" + line(3) + "\n" + line(4)).getBytes(StandardCharsets.UTF_8));
+        }
+
+        ImportJob job = run("job2", new ByteArrayInputStream(gzipped.toByteArray()), true);
+
+        assertEquals(ImportJobStatus.COMPLETED, job.status());
+        assertEquals(4, job.committedLines());
+        assertEquals(2, job.resumedFrom());
+        assertEquals(4, job.succeeded());
+        assertEquals(List.of("p3", "p4"), batches.get(0).stream().map(PlayerGame::playerId).toList());
+    }
+
+    @Test
+    void testWriteFailureStopsAtLastCommittedBatch() {
+        String ndjson = IntStream.range(2, 2_502).mapToObj(NdjsonImporterTest::line).collect(Collectors.joining("\n"));
+        Function<List<PlayerGame>, BulkResult> ok = writer();
+        ImportJob job = importer.importNdjson("playerGames", "job3", body(ndjson), false, PlayerGame.class, PlayerGame::id,
+                records -> {
+                    if (!batches.isEmpty()) {
+                        throw new IllegalStateException("connection lost");
+                    }
+                    return ok.apply(records);
+                });
+
+        assertEquals(ImportJobStatus.FAILED, job.status());
+        assertEquals(NdjsonImporter.BATCH_SIZE, job.committedLines());
+        assertEquals(NdjsonImporter.BATCH_SIZE, job.succeeded());
+        assertTrue(job.message().contains("connection lost"));
+    }
+}
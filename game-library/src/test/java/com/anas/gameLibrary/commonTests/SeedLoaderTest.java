@@ -0,0 +1,98 @@
+package com.anas.gameLibrary.commonTests;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.SeedLoader;
+import com.anas.gameLibrary.common.SeedProperties;
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.player.Player;
+import com.anas.gameLibrary.playerGame.PlayerGame;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SeedLoaderTest {
+
+    @TempDir
+    private Path seedDir;
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    private SeedLoader loader() {
+        return new SeedLoader(new ObjectMapper(), new DefaultResourceLoader(), mongoTemplate,
+                new SeedProperties(seedDir.toUri().toString(), 2, 2));
+    }
+
+    private static String entries(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"id\":\"p" + i + "-g1\",\"playerId\":\"p" + i + "\",\"gameId\":\"g1\",\"status\":\"PLAYING\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static Function<List<PlayerGame>, List<BulkItemResult>> recordingWriter(List<List<PlayerGame>> batches) {
+        return batch -> {
+            batches.add(batch);
+            return batch.stream().map(pg -> new BulkItemResult(0, pg.id(), BulkItemStatus.CREATED, null)).toList();
+        };
+    }
+
+    @Test
+    void testLoadStreamsRecordsInFixedSizeBatches() throws IOException {
+        Files.writeString(seedDir.resolve("playersGames.json"), entries(5));
+        List<List<PlayerGame>> batches = new ArrayList<>();
+
+        SeedLoader.SeedReport report = loader().loadIfEmpty(
+                new SeedLoader.Seed<>("playersGames.json", PlayerGame.class, recordingWriter(batches)));
+
+        assertEquals(5, report.records());
+        assertEquals(0, report.failed());
+        assertEquals(List.of(2, 2, 1), batches.stream().map(List::size).toList());
+        assertEquals(new PlayerGame("p4-g1", "p4", "g1", GameStatus.PLAYING), batches.get(2).get(0));
+    }
+
+    @Test
+    void testLoadAllReadsGzippedFilesAndSkipsNonEmptyCollections() throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(seedDir.resolve("playersGames.json.gz")))) {
+            out.write(entries(3).getBytes(StandardCharsets.UTF_8));
+        }
+        Files.writeString(seedDir.resolve("games.json"), "[{\"id\":\"g1\"}]");
+        when(mongoTemplate.exists(any(Query.class), eq(PlayerGame.class))).thenReturn(false);
+        when(mongoTemplate.exists(any(Query.class), eq(Game.class))).thenReturn(true);
+        List<List<PlayerGame>> batches = new ArrayList<>();
+        List<List<Game>> skipped = new ArrayList<>();
+
+        List<SeedLoader.SeedReport> reports = loader().loadAll(List.of(
+                new SeedLoader.Seed<>("playersGames.json", PlayerGame.class, recordingWriter(batches)),
+                new SeedLoader.Seed<>("games.json", Game.class, batch -> {
+                    skipped.add(batch);
+                    return List.of();
+                }),
+                new SeedLoader.Seed<>("missing.json", Player.class, batch -> List.of())));
+
+        assertEquals(1, reports.size());
+        assertEquals(3, reports.get(0).records());
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+        assertTrue(skipped.isEmpty());
+    }
+}
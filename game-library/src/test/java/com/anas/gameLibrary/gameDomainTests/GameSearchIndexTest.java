@@ -0,0 +1,88 @@
+package com.anas.gameLibrary.gameDomainTests;
+
+import com.anas.gameLibrary.game.Game;
+import com.anas.gameLibrary.game.GameRepository;
+import com.anas.gameLibrary.game.GameSearchIndex;
+import com.anas.gameLibrary.game.Platform;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GameSearchIndexTest {
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @InjectMocks
+    private GameSearchIndex searchIndex;
+
+    private final Game eldenRing = new Game("1", "Elden Ring", "RPG", Platform.PC, LocalDate.of(2022, 2, 25), null, null);
+    private final Game ringFit = new Game("2", "Ring Fit Adventure", "Fitness", Platform.SWITCH, LocalDate.of(2019, 10, 18), null, null);
+    private final Game pokemon = new Game("3", "Pokémon Legends: Arceus", "RPG", Platform.SWITCH, LocalDate.of(2022, 1, 28), null, null);
+
+    @BeforeEach
+    void setUp() {
+        when(gameRepository.streamAll(anyInt())).thenReturn(Stream.of(eldenRing, ringFit, pokemon));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void testSearchRanksExactTitleFirst() {
+        assertEquals(List.of(eldenRing, ringFit), searchIndex.search("elden ring", 10));
+        assertEquals(List.of(ringFit, eldenRing), searchIndex.search("Ring", 10));
+    }
+
+    @Test
+    void testSearchToleratesTyposAndAccents() {
+        assertEquals(List.of(eldenRing), searchIndex.search("eldn", 10));
+        assertEquals(List.of(pokemon), searchIndex.search("pokemon", 10));
+    }
+
+    @Test
+    void testSearchRespectsLimit() {
+        assertEquals(1, searchIndex.search("ring", 1).size());
+    }
+
+    @Test
+    void testAutocompletePrefersTitlePrefix() {
+        assertEquals(List.of("Ring Fit Adventure", "Elden Ring"), searchIndex.autocomplete("ri", 10));
+        assertEquals(List.of("Pokémon Legends: Arceus"), searchIndex.autocomplete("pokemon leg", 10));
+    }
+
+    @Test
+    void testPutAndRemoveKeepIndexCurrent() {
+        searchIndex.put(new Game("1", "Nightreign", "RPG", Platform.PC, LocalDate.of(2025, 5, 30), null, null));
+        searchIndex.remove("2");
+
+        assertTrue(searchIndex.search("ring", 10).isEmpty());
+        assertEquals("Nightreign", searchIndex.search("nightreign", 10).get(0).title());
+        assertTrue(searchIndex.autocomplete("elden", 10).isEmpty());
+    }
+
+    @Test
+    void testRebuildReplaysConcurrentWritesInOrder() {
+        Stream<Game> games = Stream.of(eldenRing, pokemon).peek(game -> {
+            if (game == eldenRing) {
+                searchIndex.remove("2");
+                searchIndex.put(ringFit);
+            }
+        });
+        when(gameRepository.streamAll(anyInt())).thenReturn(games);
+
+        searchIndex.rebuild();
+
+        assertEquals(ringFit, searchIndex.search("ring fit", 10).get(0));
+    }
+}
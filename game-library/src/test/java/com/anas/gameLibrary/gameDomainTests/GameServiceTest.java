@@ -1,22 +1,36 @@
 package com.anas.gameLibrary.gameDomainTests;
 
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.EntityCache;
+import com.anas.gameLibrary.common.IdMembershipFilter;
 import com.anas.gameLibrary.game.*;
 import com.anas.gameLibrary.game.GameRepository;
 import com.anas.gameLibrary.game.Platform;
+import com.anas.gameLibrary.player.GameCollectionRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @ExtendWith(MockitoExtension.class)
 class GameServiceTest {
@@ -24,6 +38,21 @@ class GameServiceTest {
     @Mock
     private GameRepository gameRepository;
 
+    @Mock
+    private GameSearchIndex searchIndex;
+
+    @Mock
+    private GameCollectionRepository collectionRepository;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private EntityCache<Game> cache = new EntityCache<>("games", 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Spy
+    private IdMembershipFilter idFilter = new IdMembershipFilter("games", 1_000, 0.01, Duration.ofMinutes(2));
+
     @InjectMocks
     private GameService gameService;
 
@@ -32,18 +61,60 @@ class GameServiceTest {
 
     @BeforeEach
     void setUp() {
-        sampleGame = new Game("1", "Elden Ring", "RPG", Platform.PC, LocalDate.of(2022, 1, 1));
+        sampleGame = new Game("1", "Elden Ring", "RPG", Platform.PC, LocalDate.of(2022, 1, 1), null, null);
         mockGames = List.of(sampleGame);
     }
 
     @Test
-    void testGetAllGames() {
-        when(gameRepository.findAll()).thenReturn(mockGames);
+    void testGetGamesPageHasNextCursor() {
+        Game second = new Game("2", "Hades", "Roguelike", Platform.SWITCH, LocalDate.of(2020, 9, 17), null, null);
+        when(gameRepository.findByIdGreaterThanOrderByIdAsc("", Limit.of(2))).thenReturn(List.of(sampleGame, second));
+
+        CursorPage<Game> page = gameService.getGamesPage(null, 1);
+
+        assertEquals(List.of(sampleGame), page.items());
+        assertEquals("1", CursorPage.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetGamesPageLastPage() {
+        when(gameRepository.findByIdGreaterThanOrderByIdAsc("0", Limit.of(11))).thenReturn(mockGames);
 
-        List<Game> result = gameService.getAllGames();
+        CursorPage<Game> page = gameService.getGamesPage(CursorPage.encode("0"), 10);
 
-        assertEquals(mockGames.size(), result.size());
-        verify(gameRepository).findAll();
+        assertEquals(mockGames, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetGamesPageInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.getGamesPage("not*base64", 10));
+        verifyNoInteractions(gameRepository);
+    }
+
+    @Test
+    void testGetFilteredGamesPage() {
+        GameFilter filter = new GameFilter("RPG", Platform.PC, LocalDate.of(2020, 1, 1), null);
+        when(gameRepository.findFiltered(filter, "", 3)).thenReturn(mockGames);
+
+        CursorPage<Game> page = gameService.getFilteredGamesPage(filter, null, 2);
+
+        assertEquals(mockGames, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void testGetFilteredGamesPageByReleaseDateHasNextCursor() {
+        GameFilter filter = new GameFilter(null, null, LocalDate.of(2020, 1, 1), null);
+        Game second = new Game("2", "Hades", "Roguelike", Platform.SWITCH, LocalDate.of(2022, 1, 1), null, null);
+        when(gameRepository.findFiltered(filter, "", 2)).thenReturn(List.of(sampleGame, second));
+
+        CursorPage<Game> page = gameService.getFilteredGamesPage(filter, null, 1);
+
+        assertEquals(List.of(sampleGame), page.items());
+        String key = CursorPage.decode(page.nextCursor());
+        assertEquals(LocalDate.of(2022, 1, 1), GameFilter.releaseDateOf(key));
+        assertEquals("1", GameFilter.idOf(key));
     }
 
     @Test
@@ -68,62 +139,160 @@ class GameServiceTest {
     }
 
 
+    @Test
+    void testGetGameByIdServedFromCache() {
+        when(gameRepository.findById("1")).thenReturn(Optional.of(sampleGame));
+        when(gameRepository.findById("404")).thenReturn(Optional.empty());
+
+        gameService.getGameById("1");
+        gameService.getGameById("404");
+        Optional<Game> cachedHit = gameService.getGameById("1");
+        Optional<Game> cachedMiss = gameService.getGameById("404");
+
+        assertEquals(Optional.of(sampleGame), cachedHit);
+        assertTrue(cachedMiss.isEmpty());
+        verify(gameRepository, times(1)).findById("1");
+        verify(gameRepository, times(1)).findById("404");
+        assertEquals(2, cache.stats().hits());
+    }
+
+    @Test
+    void testGetGamesByIdsKeepsOrderAndLoadsMissesInOneQuery() {
+        Game second = new Game("2", "Hades", "Roguelike", Platform.SWITCH, LocalDate.of(2020, 9, 17), null, null);
+        cache.put("1", sampleGame);
+        when(gameRepository.findAllById(Set.of("2", "404"))).thenReturn(List.of(second));
+
+        List<Game> result = gameService.getGamesByIds(List.of("2", "404", "1"));
+
+        assertEquals(List.of(second, sampleGame), result);
+        verify(gameRepository, times(1)).findAllById(any());
+        verify(gameRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void testExistsGameRejectsUnknownIdWithoutQuery() {
+        idFilter.rebuild(() -> 1, () -> Stream.of("1"));
+        when(gameRepository.findById("1")).thenReturn(Optional.of(sampleGame));
+
+        assertTrue(gameService.existsGame("1"));
+        assertFalse(gameService.existsGame("never-written"));
+        verify(gameRepository, never()).findById("never-written");
+    }
+
+    @Test
+    void testSaveGameRecordsIdInFilter() {
+        idFilter.rebuild(() -> 0, Stream::empty);
+        when(gameRepository.upsert(sampleGame)).thenReturn(sampleGame);
+
+        gameService.saveGame(sampleGame);
+
+        assertTrue(idFilter.mightContain("1"));
+    }
+
+    @Test
+    void testDeleteGameInvalidatesCache() {
+        when(gameRepository.findById("1")).thenReturn(Optional.of(sampleGame));
+        when(gameRepository.removeById("1")).thenReturn(true);
+
+        gameService.getGameById("1");
+        gameService.deleteGame("1");
+        gameService.getGameById("1");
+
+        verify(gameRepository, times(2)).findById("1");
+    }
+
     @Test
     void testSaveGame() {
-        when(gameRepository.save(sampleGame)).thenReturn(sampleGame);
+        when(gameRepository.upsert(sampleGame)).thenReturn(sampleGame);
 
         Game result = gameService.saveGame(sampleGame);
 
         assertEquals(sampleGame.title(), result.title());
-        verify(gameRepository).save(sampleGame);
+        verify(gameRepository).upsert(sampleGame);
+        verify(searchIndex).put(sampleGame);
+    }
+
+    @Test
+    void testSaveGamesSkipsInvalidGames() {
+        Game invalid = new Game("2", "", "RPG", Platform.PC, LocalDate.of(2022, 1, 1), null, null);
+        when(gameRepository.upsertAll(List.of(sampleGame)))
+                .thenReturn(List.of(new BulkItemResult(0, "1", BulkItemStatus.CREATED, null)));
+
+        BulkResult result = gameService.saveGames(List.of(invalid, sampleGame));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(1, result.failed());
+        assertEquals(BulkItemStatus.INVALID, result.items().get(0).status());
+        assertEquals("title: must not be blank", result.items().get(0).message());
+        assertEquals(new BulkItemResult(1, "1", BulkItemStatus.CREATED, null), result.items().get(1));
+    }
+
+    @Test
+    void testSaveGamesIndexesStoredGames() {
+        Game stored = new Game("1", "Elden Ring", "RPG", Platform.PC, LocalDate.of(2022, 1, 1), 3L, null);
+        when(gameRepository.upsertAll(List.of(sampleGame, sampleGame))).thenReturn(List.of(
+                new BulkItemResult(0, "1", BulkItemStatus.UPDATED, null),
+                new BulkItemResult(1, "1", BulkItemStatus.UPDATED, null)));
+        when(gameRepository.findAllById(Set.of("1"))).thenReturn(List.of(stored));
+
+        gameService.saveGames(List.of(sampleGame, sampleGame));
+
+        verify(searchIndex).put(stored);
+        verify(searchIndex, never()).put(sampleGame);
+        assertEquals(Optional.of(stored), gameService.getGameById("1"));
+        verify(gameRepository, never()).findById(anyString());
     }
 
     @Test
     void testUpdateGameFound() {
-        Game updatedGame = new Game("1", "Elden Ring Updated", "RPG",Platform.XBOX, LocalDate.of(2022, 1, 1));
-        when(gameRepository.findById("1")).thenReturn(Optional.of(sampleGame));
-        when(gameRepository.save(any(Game.class))).thenReturn(updatedGame);
+        Game updatedGame = new Game("1", "Elden Ring Updated", "RPG",Platform.XBOX, LocalDate.of(2022, 1, 1), null, null);
+        when(gameRepository.updateById("1", updatedGame)).thenReturn(Optional.of(updatedGame));
 
         Optional<Game> result = gameService.updateGame("1", updatedGame);
 
         assertTrue(result.isPresent());
         assertEquals(updatedGame.title(), result.get().title());
         assertEquals(updatedGame.platform(), result.get().platform());
-        verify(gameRepository).save(any(Game.class));
+        verify(gameRepository).updateById("1", updatedGame);
+        verify(gameRepository, never()).findById(anyString());
+        verify(searchIndex).put(updatedGame);
     }
 
     @Test
     void testUpdateGameNotFound() {
-        when(gameRepository.findById("404")).thenReturn(Optional.empty());
-
-        Game updatedGame = new Game("404", "Ghost", "Horror",Platform.SWITCH,  LocalDate.of(2025, 1, 1));
+        Game updatedGame = new Game("404", "Ghost", "Horror",Platform.SWITCH,  LocalDate.of(2025, 1, 1), null, null);
+        when(gameRepository.updateById("404", updatedGame)).thenReturn(Optional.empty());
 
         Optional<Game> result = gameService.updateGame("404", updatedGame);
 
         assertTrue(result.isEmpty());
-        verify(gameRepository).findById("404");
-        verify(gameRepository, never()).save(any());
+        verify(gameRepository).updateById("404", updatedGame);
+        verify(gameRepository, never()).upsert(any());
+        verifyNoInteractions(searchIndex);
     }
 
     @Test
     void testDeleteGameExists() {
-        when(gameRepository.existsById("1")).thenReturn(true);
+        when(gameRepository.removeById("1")).thenReturn(true);
 
         boolean result = gameService.deleteGame("1");
 
         assertTrue(result);
-        verify(gameRepository).existsById("1");
-        verify(gameRepository).deleteById("1");
+        verify(gameRepository).removeById("1");
+        verify(gameRepository, never()).existsById(anyString());
+        verify(collectionRepository).removeGameFromAll("1");
+        verify(searchIndex).remove("1");
     }
 
     @Test
     void testDeleteGameNotExists() {
-        when(gameRepository.existsById("404")).thenReturn(false);
+        when(gameRepository.removeById("404")).thenReturn(false);
 
         boolean result = gameService.deleteGame("404");
 
         assertFalse(result);
-        verify(gameRepository).existsById("404");
-        verify(gameRepository, never()).deleteById(anyString());
+        verify(gameRepository).removeById("404");
+        verify(searchIndex, never()).remove(anyString());
+        verifyNoInteractions(collectionRepository);
     }
 }
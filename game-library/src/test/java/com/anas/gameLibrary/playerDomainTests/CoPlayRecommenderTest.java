@@ -0,0 +1,67 @@
+package com.anas.gameLibrary.playerDomainTests;
+
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.playerGame.CoPlayRecommender;
+import com.anas.gameLibrary.playerGame.PlayerGame;
+import com.anas.gameLibrary.playerGame.PlayerGameRepository;
+import com.anas.gameLibrary.playerGame.RelatedGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoPlayRecommenderTest {
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @InjectMocks
+    private CoPlayRecommender recommender;
+
+    private static PlayerGame link(String playerId, String gameId) {
+        return new PlayerGame(null, playerId, gameId, GameStatus.PLAYING);
+    }
+
+    @Test
+    void testRelatedRanksBySharedPlayers() {
+        when(playerGameRepository.streamLinksByPlayer(anyInt())).thenReturn(Stream.of(
+                link("p1", "g1"), link("p1", "g2"), link("p1", "g3"),
+                link("p2", "g1"), link("p2", "g2"),
+                link("p3", "g2"), link("p3", "g3"),
+                link("p4", "g4")));
+
+        assertEquals(3, recommender.rebuild());
+
+        assertEquals(List.of(new RelatedGame("g2", 2), new RelatedGame("g3", 1)), recommender.related("g1", 10));
+        assertEquals(List.of(new RelatedGame("g1", 2)), recommender.related("g2", 1));
+        assertTrue(recommender.related("g4", 10).isEmpty());
+        assertTrue(recommender.related("unknown", 10).isEmpty());
+    }
+
+    @Test
+    void testRebuildSplitsPlayersAcrossTasksAndSwapsModel() {
+        List<PlayerGame> links = IntStream.range(0, 5_000)
+                .boxed()
+                .flatMap(p -> Stream.of(link("p" + p, "g1"), link("p" + p, p % 2 == 0 ? "g2" : "g3")))
+                .toList();
+        when(playerGameRepository.streamLinksByPlayer(anyInt()))
+                .thenReturn(links.stream())
+                .thenReturn(Stream.of(link("p1", "g1"), link("p1", "g4")));
+
+        recommender.rebuild();
+        assertEquals(List.of(new RelatedGame("g2", 2_500), new RelatedGame("g3", 2_500)), recommender.related("g1", 10));
+
+        recommender.rebuild();
+        assertEquals(List.of(new RelatedGame("g4", 1)), recommender.related("g1", 10));
+    }
+}
@@ -0,0 +1,71 @@
+package com.anas.gameLibrary.playerDomainTests;
+
+import com.anas.gameLibrary.game.GameService;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.playerGame.GameStats;
+import com.anas.gameLibrary.playerGame.GameStatsRepository;
+import com.anas.gameLibrary.playerGame.GameStatsService;
+import com.anas.gameLibrary.playerGame.PlayerGameRepository;
+import com.anas.gameLibrary.playerGame.StatusTransition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class GameStatsServiceTest {
+
+    @Mock
+    private GameStatsRepository statsRepository;
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @Mock
+    private GameService gameService;
+
+    @InjectMocks
+    private GameStatsService statsService;
+
+    @Test
+    void testApplyMergesTransitionsIntoOneIncrementPerGame() {
+        statsService.apply(List.of(
+                new StatusTransition("p1", "g1", null, GameStatus.PLAYING),
+                new StatusTransition("p2", "g1", GameStatus.PLAYING, GameStatus.COMPLETED),
+                new StatusTransition("p3", "g2", GameStatus.ABANDONED, null),
+                new StatusTransition("p4", "g3", GameStatus.PLAYING, GameStatus.PLAYING)));
+
+        verify(statsRepository).increment(Map.of(
+                "g1", Map.of(GameStatus.PLAYING, 0L, GameStatus.COMPLETED, 1L),
+                "g2", Map.of(GameStatus.ABANDONED, -1L)));
+    }
+
+    @Test
+    void testGetStatsListsEveryStatus() {
+        when(gameService.existsGame("g1")).thenReturn(true);
+        when(statsRepository.findById("g1")).thenReturn(Optional.of(new GameStats("g1", Map.of(GameStatus.PLAYING, 3L))));
+
+        GameStats stats = statsService.getStats("g1").orElseThrow();
+
+        assertEquals(4, stats.counts().size());
+        assertEquals(3L, stats.counts().get(GameStatus.PLAYING));
+        assertEquals(0L, stats.counts().get(GameStatus.COMPLETED));
+    }
+
+    @Test
+    void testGetStatsUnknownGame() {
+        when(gameService.existsGame("404")).thenReturn(false);
+
+        assertTrue(statsService.getStats("404").isEmpty());
+        verify(statsRepository, never()).findById(any());
+    }
+}
@@ -0,0 +1,256 @@
+package com.anas.gameLibrary.playerDomainTests;
+
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.game.GameRepository;
+import com.anas.gameLibrary.game.GameService;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.player.Player;
+import com.anas.gameLibrary.player.PlayerRepository;
+import com.anas.gameLibrary.player.PlayerService;
+import com.anas.gameLibrary.playerGame.GameStatsService;
+import com.anas.gameLibrary.playerGame.PlayerByGame;
+import com.anas.gameLibrary.playerGame.PlayerGame;
+import com.anas.gameLibrary.playerGame.PlayerGameRepository;
+import com.anas.gameLibrary.playerGame.PlayerGameService;
+import com.anas.gameLibrary.playerGame.PlayerReachService;
+import com.anas.gameLibrary.playerGame.StatusTransition;
+import com.anas.gameLibrary.playerGame.StatusUpdate;
+import com.anas.gameLibrary.playerGame.TrendingTracker;
+import com.anas.gameLibrary.playerGame.TrendingWindow;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerGameServiceTest {
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @Mock
+    private PlayerRepository playerRepository;
+
+    @Mock
+    private GameRepository gameRepository;
+
+    @Mock
+    private PlayerService playerService;
+
+    @Mock
+    private GameService gameService;
+
+    @Mock
+    private GameStatsService statsService;
+
+    @Mock
+    private TrendingTracker trendingTracker;
+
+    @Mock
+    private PlayerReachService reachService;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @InjectMocks
+    private PlayerGameService playerGameService;
+
+    private final PlayerGame sampleEntry = new PlayerGame(null, "p1", "g1", GameStatus.PLAYING);
+    private final PlayerGame keyedEntry = new PlayerGame("p1-g1", "p1", "g1", GameStatus.PLAYING);
+
+    @Test
+    void testSavePlayerGameInsertsWithCompositeId() {
+        when(playerService.existsPlayer("p1")).thenReturn(true);
+        when(gameService.existsGame("g1")).thenReturn(true);
+        when(playerGameRepository.insert(keyedEntry)).thenReturn(keyedEntry);
+
+        Optional<PlayerGame> result = playerGameService.savePlayerGame(sampleEntry);
+
+        assertEquals(Optional.of(keyedEntry), result);
+        verify(playerGameRepository, never()).findById(anyString());
+        verify(playerGameRepository, never()).save(any());
+        verify(statsService).apply(List.of(new StatusTransition("p1", "g1", null, GameStatus.PLAYING)));
+        verify(reachService).record(List.of(new StatusTransition("p1", "g1", null, GameStatus.PLAYING)));
+    }
+
+    @Test
+    void testSavePlayerGameDuplicateReturnsEmpty() {
+        when(playerService.existsPlayer("p1")).thenReturn(true);
+        when(gameService.existsGame("g1")).thenReturn(true);
+        when(playerGameRepository.insert(keyedEntry)).thenThrow(new DuplicateKeyException("E11000"));
+
+        Optional<PlayerGame> result = playerGameService.savePlayerGame(sampleEntry);
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(statsService);
+    }
+
+    @Test
+    void testUpdateStatusReportsTransitionFromPreviousStatus() {
+        when(playerGameRepository.updateStatusById("p1-g1", GameStatus.COMPLETED)).thenReturn(Optional.of(keyedEntry));
+
+        Optional<PlayerGame> result = playerGameService.updateStatus("p1", "g1", GameStatus.COMPLETED);
+
+        assertEquals(Optional.of(new PlayerGame("p1-g1", "p1", "g1", GameStatus.COMPLETED)), result);
+        verify(statsService).apply(List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED)));
+        verify(trendingTracker).record(List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED)));
+    }
+
+    @Test
+    void testDeletePlayerGameReportsRemoval() {
+        when(playerGameRepository.findAndRemoveById("p1-g1")).thenReturn(Optional.of(keyedEntry));
+
+        assertTrue(playerGameService.deletePlayerGame("p1-g1"));
+        verify(statsService).apply(List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, null)));
+    }
+
+    @Test
+    void testSavePlayerGameUnknownPlayer() {
+        when(playerService.existsPlayer("p1")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> playerGameService.savePlayerGame(sampleEntry));
+        verifyNoInteractions(gameService, playerGameRepository);
+    }
+
+    @Test
+    void testGetPlayerGameEntriesByGamePageHasNextCursor() {
+        PlayerGame second = new PlayerGame("p2-g1", "p2", "g1", GameStatus.COMPLETED);
+        when(playerGameRepository.findByGameIdAndIdGreaterThanOrderByIdAsc("g1", "", Limit.of(2)))
+                .thenReturn(List.of(keyedEntry, second));
+
+        CursorPage<PlayerGame> page = playerGameService.getPlayerGameEntriesByGamePage("g1", null, 1);
+
+        assertEquals(List.of(keyedEntry), page.items());
+        assertEquals("p1-g1", CursorPage.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testGetPlayersByGamePageSkipsDeletedPlayersWithoutEndingListing() {
+        Player player = new Player("p1", "anas_s", "anas@example.com", LocalDate.of(2000, 1, 1), null, null);
+        when(playerGameRepository.findPlayersByGame("g1", "", 3)).thenReturn(List.of(
+                new PlayerByGame("p1-g1", player),
+                new PlayerByGame("p2-g1", null),
+                new PlayerByGame("p3-g1", null)));
+
+        CursorPage<Player> page = playerGameService.getPlayersByGamePage("g1", null, 2);
+
+        assertEquals(List.of(player), page.items());
+        assertEquals("p2-g1", CursorPage.decode(page.nextCursor()));
+    }
+
+    @Test
+    void testUpdateStatusesRejectsInvalidAndRepeatedEntries() {
+        StatusUpdate first = new StatusUpdate("p1", "g1", GameStatus.COMPLETED);
+        StatusUpdate repeated = new StatusUpdate("p1", "g1", GameStatus.ABANDONED);
+        StatusUpdate invalid = new StatusUpdate("p1", "g2", null);
+        when(playerGameRepository.findAllById(List.of("p1-g1"))).thenReturn(List.of(keyedEntry));
+        when(playerGameRepository.compareAndSetStatuses(
+                List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED))))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.UPDATED, null)));
+
+        BulkResult result = playerGameService.updateStatuses(List.of(first, repeated, invalid));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.UPDATED, result.items().get(0).status());
+        assertEquals("Duplicate entry in request", result.items().get(1).message());
+        assertEquals("status: must not be null", result.items().get(2).message());
+        verify(statsService).apply(List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED)));
+    }
+
+    @Test
+    void testUpdateStatusesReportsOnlyAppliedTransitions() {
+        StatusUpdate raced = new StatusUpdate("p1", "g1", GameStatus.COMPLETED);
+        StatusUpdate applied = new StatusUpdate("p1", "g2", GameStatus.ABANDONED);
+        StatusUpdate missing = new StatusUpdate("p1", "g3", GameStatus.PLAYING);
+        StatusUpdate contended = new StatusUpdate("p1", "g4", GameStatus.PLAYING);
+        PlayerGame second = new PlayerGame("p1-g2", "p1", "g2", GameStatus.PLAYING);
+        PlayerGame fourth = new PlayerGame("p1-g4", "p1", "g4", GameStatus.NOT_STARTED);
+        PlayerGame racedBefore = new PlayerGame("p1-g1", "p1", "g1", GameStatus.NOT_STARTED);
+        when(playerGameRepository.findAllById(List.of("p1-g1", "p1-g2", "p1-g3", "p1-g4")))
+                .thenReturn(List.of(racedBefore, second, fourth));
+        when(playerGameRepository.findAllById(List.of("p1-g1", "p1-g4"))).thenReturn(List.of(keyedEntry, fourth));
+        when(playerGameRepository.findAllById(List.of("p1-g4"))).thenReturn(List.of(fourth));
+        StatusTransition racedChange = new StatusTransition("p1", "g1", GameStatus.NOT_STARTED, GameStatus.COMPLETED);
+        StatusTransition appliedChange = new StatusTransition("p1", "g2", GameStatus.PLAYING, GameStatus.ABANDONED);
+        StatusTransition contendedChange = new StatusTransition("p1", "g4", GameStatus.NOT_STARTED, GameStatus.PLAYING);
+        StatusTransition retriedChange = new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED);
+        when(playerGameRepository.compareAndSetStatuses(List.of(racedChange, appliedChange, contendedChange)))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.CONFLICT, null),
+                        new BulkItemResult(1, "p1-g2", BulkItemStatus.UPDATED, null),
+                        new BulkItemResult(2, "p1-g4", BulkItemStatus.CONFLICT, null)));
+        when(playerGameRepository.compareAndSetStatuses(List.of(retriedChange, contendedChange)))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.UPDATED, null),
+                        new BulkItemResult(1, "p1-g4", BulkItemStatus.CONFLICT, null)));
+        when(playerGameRepository.compareAndSetStatuses(List.of(contendedChange)))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g4", BulkItemStatus.CONFLICT, null)));
+
+        BulkResult result = playerGameService.updateStatuses(List.of(raced, applied, missing, contended));
+
+        assertEquals(List.of(BulkItemStatus.UPDATED, BulkItemStatus.UPDATED, BulkItemStatus.NOT_FOUND, BulkItemStatus.CONFLICT),
+                result.items().stream().map(BulkItemResult::status).toList());
+        assertEquals(List.of(0, 1, 2, 3), result.items().stream().map(BulkItemResult::index).toList());
+        verify(playerGameRepository, times(PlayerGameService.MAX_STATUS_ATTEMPTS)).compareAndSetStatuses(any());
+        List<StatusTransition> transitions = List.of(appliedChange, retriedChange);
+        verify(statsService).apply(transitions);
+        verify(trendingTracker).record(transitions);
+        verify(reachService).record(transitions);
+    }
+
+    @Test
+    void testUpdateStatusesDoesNotCountEntryDeletedBeforeWrite() {
+        StatusUpdate update = new StatusUpdate("p1", "g1", GameStatus.COMPLETED);
+        when(playerGameRepository.findAllById(List.of("p1-g1"))).thenReturn(List.of(keyedEntry));
+        when(playerGameRepository.compareAndSetStatuses(
+                List.of(new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED))))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.NOT_FOUND, null)));
+
+        BulkResult result = playerGameService.updateStatuses(List.of(update));
+
+        assertEquals(BulkItemStatus.NOT_FOUND, result.items().get(0).status());
+        verify(playerGameRepository).compareAndSetStatuses(any());
+        verifyNoInteractions(statsService, trendingTracker, reachService);
+    }
+
+    @Test
+    void testRacingBulkUpdatesCountOneStart() {
+        TrendingTracker tracker = new TrendingTracker(Clock.systemUTC());
+        PlayerGameService service = new PlayerGameService(playerGameRepository, playerRepository, gameRepository,
+                playerService, gameService, statsService, tracker, reachService, validator);
+        PlayerGame notStarted = new PlayerGame("p1-g1", "p1", "g1", GameStatus.NOT_STARTED);
+        StatusUpdate start = new StatusUpdate("p1", "g1", GameStatus.PLAYING);
+        StatusTransition started = new StatusTransition("p1", "g1", GameStatus.NOT_STARTED, GameStatus.PLAYING);
+        StatusTransition unchanged = new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.PLAYING);
+        // both syncs read NOT_STARTED; the first write wins, the second conflicts and rereads PLAYING
+        when(playerGameRepository.findAllById(List.of("p1-g1")))
+                .thenReturn(List.of(notStarted), List.of(notStarted), List.of(keyedEntry));
+        when(playerGameRepository.compareAndSetStatuses(List.of(started)))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.UPDATED, null)),
+                        List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.CONFLICT, null)));
+        when(playerGameRepository.compareAndSetStatuses(List.of(unchanged)))
+                .thenReturn(List.of(new BulkItemResult(0, "p1-g1", BulkItemStatus.UPDATED, null)));
+
+        service.updateStatuses(List.of(start));
+        service.updateStatuses(List.of(start));
+
+        assertEquals(1, tracker.top(TrendingWindow.HOUR, 10).get(0).starts());
+    }
+}
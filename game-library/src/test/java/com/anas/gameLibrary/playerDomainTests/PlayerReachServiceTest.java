@@ -0,0 +1,82 @@
+package com.anas.gameLibrary.playerDomainTests;
+
+import com.anas.gameLibrary.common.HyperLogLog;
+import com.anas.gameLibrary.game.GameService;
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.playerGame.PlayerGameRepository;
+import com.anas.gameLibrary.playerGame.PlayerReach;
+import com.anas.gameLibrary.playerGame.PlayerReachEstimate;
+import com.anas.gameLibrary.playerGame.PlayerReachRepository;
+import com.anas.gameLibrary.playerGame.PlayerReachService;
+import com.anas.gameLibrary.playerGame.StatusTransition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlayerReachServiceTest {
+
+    @Mock
+    private PlayerReachRepository reachRepository;
+
+    @Mock
+    private PlayerGameRepository playerGameRepository;
+
+    @Mock
+    private GameService gameService;
+
+    @InjectMocks
+    private PlayerReachService reachService;
+
+    @Test
+    void testEstimateCountsDistinctPlayersPerStatus() {
+        when(gameService.existsGame("g1")).thenReturn(true);
+        when(gameService.existsGame("404")).thenReturn(false);
+
+        reachService.record(List.of(
+                new StatusTransition("p1", "g1", null, GameStatus.PLAYING),
+                new StatusTransition("p2", "g1", null, GameStatus.PLAYING),
+                new StatusTransition("p1", "g1", GameStatus.PLAYING, GameStatus.COMPLETED),
+                new StatusTransition("p2", "g1", GameStatus.PLAYING, null)));
+
+        PlayerReachEstimate estimate = reachService.getEstimate("g1").orElseThrow();
+        assertEquals(2, estimate.players());
+        assertEquals(Map.of(GameStatus.NOT_STARTED, 0L, GameStatus.PLAYING, 2L,
+                GameStatus.COMPLETED, 1L, GameStatus.ABANDONED, 0L), estimate.playersByStatus());
+        assertTrue(reachService.getEstimate("404").isEmpty());
+    }
+
+    @Test
+    void testFlushMergesStoredSketchesAndRetriesOnConflict() {
+        HyperLogLog otherNode = new HyperLogLog(PlayerReachService.PRECISION);
+        otherNode.add("p9");
+        PlayerReach stored = new PlayerReach("g1", otherNode.toBytes(), Map.of(), 3L);
+        PlayerReach newer = new PlayerReach("g1", otherNode.toBytes(), Map.of(), 4L);
+        when(reachRepository.findAllById(any())).thenReturn(List.of(stored));
+        when(reachRepository.findById("g1")).thenReturn(Optional.of(newer));
+        when(reachRepository.compareAndSet(any())).thenReturn(false, true);
+        when(gameService.existsGame("g1")).thenReturn(true);
+
+        reachService.record(List.of(new StatusTransition("p1", "g1", null, GameStatus.PLAYING)));
+
+        assertEquals(1, reachService.flush());
+        assertEquals(0, reachService.flush());
+
+        ArgumentCaptor<PlayerReach> written = ArgumentCaptor.forClass(PlayerReach.class);
+        verify(reachRepository, times(2)).compareAndSet(written.capture());
+        assertEquals(4L, written.getValue().version());
+        assertEquals(2, HyperLogLog.fromBytes(written.getValue().players()).estimate());
+        assertEquals(2, reachService.getEstimate("g1").orElseThrow().players());
+    }
+}
@@ -1,16 +1,29 @@
 package com.anas.gameLibrary.playerDomainTests;
 
+import com.anas.gameLibrary.common.BulkItemResult;
+import com.anas.gameLibrary.common.BulkItemStatus;
+import com.anas.gameLibrary.common.BulkResult;
+import com.anas.gameLibrary.common.CursorPage;
+import com.anas.gameLibrary.common.EntityCache;
+import com.anas.gameLibrary.common.IdMembershipFilter;
 import com.anas.gameLibrary.player.*;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,6 +34,15 @@ class PlayerServiceTest {
     @Mock
     private PlayerRepository playerRepository;
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private EntityCache<Player> cache = new EntityCache<>("players", 100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Spy
+    private IdMembershipFilter idFilter = new IdMembershipFilter("players", 1_000, 0.01, Duration.ofMinutes(2));
+
     @InjectMocks
     private PlayerService playerService;
 
@@ -29,18 +51,18 @@ class PlayerServiceTest {
 
     @BeforeEach
     void setUp() {
-        samplePlayer = new Player("1", "anas_s", "anas@example.com", LocalDate.of(2000, 1, 1));
+        samplePlayer = new Player("1", "anas_s", "anas@example.com", LocalDate.of(2000, 1, 1), null, null);
         mockPlayers = List.of(samplePlayer);
     }
 
     @Test
-    void testGetAllPlayers() {
-        when(playerRepository.findAll()).thenReturn(mockPlayers);
+    void testGetPlayersPageClampsSize() {
+        when(playerRepository.findByIdGreaterThanOrderByIdAsc("", Limit.of(CursorPage.MAX_SIZE + 1))).thenReturn(mockPlayers);
 
-        List<Player> result = playerService.getAllPlayers();
+        CursorPage<Player> page = playerService.getPlayersPage(null, 10_000);
 
-        assertEquals(mockPlayers.size(), result.size());
-        verify(playerRepository).findAll();
+        assertEquals(mockPlayers, page.items());
+        assertNull(page.nextCursor());
     }
 
     @Test
@@ -64,59 +86,101 @@ class PlayerServiceTest {
         verify(playerRepository).findById("404");
     }
 
+    @Test
+    void testUpdatePlayerRefreshesCache() {
+        Player updatedPlayer = new Player("1", "anas_updated", "anas@updated.com", LocalDate.of(1999, 5, 5), null, null);
+        when(playerRepository.findById("1")).thenReturn(Optional.of(samplePlayer));
+        when(playerRepository.updateById("1", updatedPlayer)).thenReturn(Optional.of(updatedPlayer));
+
+        playerService.getPlayerById("1");
+        playerService.updatePlayer("1", updatedPlayer);
+        Optional<Player> result = playerService.getPlayerById("1");
+
+        assertEquals(Optional.of(updatedPlayer), result);
+        verify(playerRepository, times(1)).findById("1");
+    }
+
     @Test
     void testSavePlayer() {
-        when(playerRepository.save(samplePlayer)).thenReturn(samplePlayer);
+        when(playerRepository.upsert(samplePlayer)).thenReturn(samplePlayer);
 
         Player result = playerService.savePlayer(samplePlayer);
 
         assertEquals(samplePlayer.username(), result.username());
-        verify(playerRepository).save(samplePlayer);
+        verify(playerRepository).upsert(samplePlayer);
+    }
+
+    @Test
+    void testSavePlayersRejectsTakenUsernames() {
+        Player taken = new Player("2", "taken", "taken@example.com", LocalDate.of(1995, 1, 1), null, null);
+        Player sameNameInBatch = new Player("3", "anas_s", "other@example.com", LocalDate.of(1995, 1, 1), null, null);
+        when(playerRepository.findUsernameOwners(Set.of("anas_s", "taken"))).thenReturn(Map.of("taken", "4"));
+        when(playerRepository.upsertAll(List.of(samplePlayer)))
+                .thenReturn(List.of(new BulkItemResult(0, "1", BulkItemStatus.CREATED, null)));
+
+        BulkResult result = playerService.savePlayers(List.of(samplePlayer, taken, sameNameInBatch));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.CREATED, result.items().get(0).status());
+        assertEquals("Username already exists", result.items().get(1).message());
+        assertEquals("Username already exists", result.items().get(2).message());
+    }
+
+    @Test
+    void testSavePlayersAcceptsExistingPlayerResent() {
+        Player newEmail = new Player("1", "anas_s", "new@example.com", samplePlayer.birthDate(), null, null);
+        when(playerRepository.findUsernameOwners(Set.of("anas_s"))).thenReturn(Map.of("anas_s", "1"));
+        when(playerRepository.upsertAll(List.of(newEmail)))
+                .thenReturn(List.of(new BulkItemResult(0, "1", BulkItemStatus.UPDATED, null)));
+
+        BulkResult result = playerService.savePlayers(List.of(newEmail));
+
+        assertEquals(1, result.succeeded());
+        assertEquals(BulkItemStatus.UPDATED, result.items().get(0).status());
     }
 
     @Test
     void testUpdatePlayerFound() {
-        Player updatedPlayer = new Player("1", "anas_updated", "anas@updated.com", LocalDate.of(1999, 5, 5));
-        when(playerRepository.findById("1")).thenReturn(Optional.of(samplePlayer));
-        when(playerRepository.save(any(Player.class))).thenReturn(updatedPlayer);
+        Player updatedPlayer = new Player("1", "anas_updated", "anas@updated.com", LocalDate.of(1999, 5, 5), null, null);
+        when(playerRepository.updateById("1", updatedPlayer)).thenReturn(Optional.of(updatedPlayer));
 
         Optional<Player> result = playerService.updatePlayer("1", updatedPlayer);
 
         assertTrue(result.isPresent());
         assertEquals(updatedPlayer.username(), result.get().username());
-        verify(playerRepository).save(any(Player.class));
+        verify(playerRepository).updateById("1", updatedPlayer);
+        verify(playerRepository, never()).findById(any());
     }
 
     @Test
     void testUpdatePlayerNotFound() {
-        Player updatedPlayer = new Player("404", "ghost", "ghost@example.com", LocalDate.of(1990, 1, 1));
-        when(playerRepository.findById("404")).thenReturn(Optional.empty());
+        Player updatedPlayer = new Player("404", "ghost", "ghost@example.com", LocalDate.of(1990, 1, 1), null, null);
+        when(playerRepository.updateById("404", updatedPlayer)).thenReturn(Optional.empty());
 
         Optional<Player> result = playerService.updatePlayer("404", updatedPlayer);
 
         assertTrue(result.isEmpty());
-        verify(playerRepository, never()).save(any());
+        verify(playerRepository, never()).upsert(any());
     }
 
     @Test
     void testDeletePlayerExists() {
-        when(playerRepository.existsById("1")).thenReturn(true);
+        when(playerRepository.removeById("1")).thenReturn(true);
 
         boolean result = playerService.deletePlayer("1");
 
         assertTrue(result);
-        verify(playerRepository).existsById("1");
-        verify(playerRepository).deleteById("1");
+        verify(playerRepository).removeById("1");
+        verify(playerRepository, never()).existsById(any());
     }
 
     @Test
     void testDeletePlayerNotExists() {
-        when(playerRepository.existsById("404")).thenReturn(false);
+        when(playerRepository.removeById("404")).thenReturn(false);
 
         boolean result = playerService.deletePlayer("404");
 
         assertFalse(result);
-        verify(playerRepository).existsById("404");
-        verify(playerRepository, never()).deleteById(any());
+        verify(playerRepository).removeById("404");
     }
 }
@@ -0,0 +1,92 @@
+package com.anas.gameLibrary.playerDomainTests;
+
+import com.anas.gameLibrary.player.GameStatus;
+import com.anas.gameLibrary.playerGame.StatusTransition;
+import com.anas.gameLibrary.playerGame.TrendingGame;
+import com.anas.gameLibrary.playerGame.TrendingTracker;
+import com.anas.gameLibrary.playerGame.TrendingWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingTrackerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T12:00:00Z"));
+    private final TrendingTracker tracker = new TrendingTracker(clock);
+
+    @Test
+    void testRanksStartsAndIgnoresOtherTransitions() {
+        tracker.record(List.of(
+                start("p1", "g1"), start("p2", "g1"), start("p3", "g2"),
+                new StatusTransition("p4", "g3", GameStatus.PLAYING, GameStatus.ABANDONED),
+                new StatusTransition("p5", "g3", GameStatus.PLAYING, GameStatus.PLAYING)));
+
+        List<TrendingGame> top = tracker.top(TrendingWindow.HOUR, 10);
+
+        assertEquals(List.of(new TrendingGame("g1", 2), new TrendingGame("g2", 1)), top);
+    }
+
+    @Test
+    void testKeepsOnlyTheTopGames() {
+        tracker.record(List.of(start("p1", "g1"), start("p2", "g2"), start("p3", "g2"), start("p4", "g3")));
+
+        assertEquals(List.of(new TrendingGame("g2", 2), new TrendingGame("g1", 1)), tracker.top(TrendingWindow.HOUR, 2));
+    }
+
+    @Test
+    void testStartsSlideOutOfTheHourButStayInTheDay() {
+        tracker.record(List.of(start("p1", "g1")));
+        clock.advance(Duration.ofMinutes(90));
+        tracker.record(List.of(start("p2", "g2")));
+
+        assertEquals(List.of(new TrendingGame("g2", 1)), tracker.top(TrendingWindow.HOUR, 10));
+        assertEquals(2, tracker.top(TrendingWindow.DAY, 10).size());
+
+        clock.advance(Duration.ofDays(2));
+        assertTrue(tracker.top(TrendingWindow.DAY, 10).isEmpty());
+    }
+
+    @Test
+    void testUnknownWindow() {
+        assertEquals(TrendingWindow.DAY, TrendingWindow.fromLabel("1d"));
+        assertThrows(IllegalArgumentException.class, () -> TrendingWindow.fromLabel("1w"));
+    }
+
+    private static StatusTransition start(String playerId, String gameId) {
+        return new StatusTransition(playerId, gameId, null, GameStatus.PLAYING);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}